@@ -33,6 +33,7 @@ import NewTask from './Tasks/NewTask.jsx';
 import EditTask from './Tasks/EditTask.jsx';
 
 import routes from '../routes.js';
+import loadTaskPage from '../lib/loadTaskPage.js';
 
 import { actions as usersActions } from '../slices/usersSlice.js';
 import { actions as labelsActions } from '../slices/labelsSlice.js';
@@ -100,13 +101,14 @@ const App = () => {
       {
         name: 'tasks',
         getData: async () => {
-          const { data } = await axios.get(routes.apiTasks(), { headers: auth.getAuthHeader() });
-          if (!Array.isArray(data)) {
+          const page = await loadTaskPage({}, auth.getAuthHeader());
+          if (!page) {
             notify.addError('Сервер не вернул список задач');
             dispatch(tasksActions.addTasks([]));
             return;
           }
-          dispatch(tasksActions.addTasks(data));
+          dispatch(tasksActions.addTasks(page.tasks));
+          dispatch(tasksActions.setNextCursor(page.nextCursor));
         },
         isSecurity: true,
       },
@@ -2,7 +2,6 @@
 
 import React from 'react';
 import { useSelector } from 'react-redux';
-import axios from 'axios';
 import { useFormik } from 'formik';
 import { useTranslation } from 'react-i18next';
 import { useHistory } from 'react-router-dom';
@@ -12,7 +11,7 @@ import {
 
 import handleError from '../../utils.js';
 import { useAuth, useNotify } from '../../hooks/index.js';
-import routes from '../../routes.js';
+import loadTaskPage from '../../lib/loadTaskPage.js';
 import { selectors as userSelectors } from '../../slices/usersSlice.js';
 import { selectors as labelSelectors } from '../../slices/labelsSlice.js';
 import { selectors as taskStatuseSelectors } from '../../slices/taskStatusesSlice.js';
@@ -57,10 +56,8 @@ const TaskFilter = (props) => {
           params.labelsId = formData.labelId;
         }
 
-        const { data: response } = await axios
-          .get(routes.apiTasks(), { params, headers: auth.getAuthHeader() });
-
-        handler(response);
+        const page = await loadTaskPage(params, auth.getAuthHeader());
+        handler(page ? { ...page, params } : { tasks: [], nextCursor: null, params });
       } catch (e) {
         setSubmitting(false);
         handleError(e, notify, history, auth);
@@ -10,8 +10,11 @@ import { Link, useHistory } from 'react-router-dom';
 import handleError from '../../utils.js';
 import { useAuth, useNotify } from '../../hooks/index.js';
 import routes from '../../routes.js';
+import loadTaskPage from '../../lib/loadTaskPage.js';
 import TaskFilter from './TaskFilter.jsx';
-import { actions as taskActions, selectors as tasksSelectors } from '../../slices/tasksSlice.js';
+import {
+  actions as taskActions, selectors as tasksSelectors, selectNextCursor,
+} from '../../slices/tasksSlice.js';
 
 import { selectors as userSelectors } from '../../slices/usersSlice.js';
 import { selectors as taskStatusesSelectors } from '../../slices/taskStatusesSlice.js';
@@ -19,22 +22,47 @@ import { selectors as taskStatusesSelectors } from '../../slices/taskStatusesSli
 const Tasks = () => {
   const { t } = useTranslation();
   // const tasks = useSelector(tasksSelectors.selectAll);
-  const [filteredTasks, setFilteredTasks] = useState(null);
+  const [filtered, setFiltered] = useState(null);
+  const [isLoadingMore, setLoadingMore] = useState(false);
   const auth = useAuth();
   const notify = useNotify();
   const history = useHistory();
   const dispatch = useDispatch();
 
-  const { executors, taskStatuses, tasks } = useSelector((state) => ({
+  const {
+    executors, taskStatuses, tasks, nextCursor,
+  } = useSelector((state) => ({
     executors: userSelectors.selectAll(state),
     taskStatuses: taskStatusesSelectors.selectAll(state),
     tasks: tasksSelectors.selectAll(state),
+    nextCursor: selectNextCursor(state),
   }));
 
   if (!tasks) {
     return null;
   }
 
+  const cursor = filtered ? filtered.nextCursor : nextCursor;
+
+  const loadMore = async () => {
+    setLoadingMore(true);
+    try {
+      const page = await loadTaskPage(filtered?.params ?? {}, auth.getAuthHeader(), cursor);
+      if (!page) {
+        notify.addError('Сервер не вернул список задач');
+      } else if (filtered) {
+        setFiltered({ ...filtered, tasks: [...filtered.tasks, ...page.tasks], nextCursor: page.nextCursor });
+      } else {
+        dispatch(taskActions.addTasks(page.tasks));
+        dispatch(taskActions.setNextCursor(page.nextCursor));
+      }
+    } catch (e) {
+      handleError(e, notify, history, auth);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const removeTask = async (event, id) => {
     event.preventDefault();
     try {
@@ -55,7 +83,7 @@ const Tasks = () => {
   return (
     <>
       <Link to={routes.newTaskPagePath()}>{t('createTask')}</Link>
-      <TaskFilter foundTasks={setFilteredTasks} />
+      <TaskFilter foundTasks={setFiltered} />
       <Table striped hover>
         <thead>
           <tr>
@@ -69,7 +97,7 @@ const Tasks = () => {
           </tr>
         </thead>
         <tbody>
-          {(filteredTasks ?? tasks).map((task) => {
+          {(filtered?.tasks ?? tasks).map((task) => {
             const executor = task.executor ? executors
               .find((item) => item.id.toString() === task.executor.id.toString()) : null;
             const author = executors
@@ -97,6 +125,11 @@ const Tasks = () => {
           })}
         </tbody>
       </Table>
+      {cursor && (
+        <Button variant="outline-primary" disabled={isLoadingMore} onClick={loadMore}>
+          {t('loadMore')}
+        </Button>
+      )}
     </>
   );
 };
@@ -0,0 +1,21 @@
+// @ts-check
+
+import axios from 'axios';
+
+import routes from '../routes.js';
+
+/**
+ * Loads one page of tasks matching params, the first one unless the cursor of a previous page is given.
+ * Resolves to the tasks and the cursor of the next page, null when there is none,
+ * or to null if the server didn't answer with a list.
+ */
+const loadTaskPage = async (params, headers, after = undefined) => {
+  const { data, headers: responseHeaders } = await axios
+    .get(routes.apiTasks(), { params: { ...params, after }, headers });
+  if (!Array.isArray(data)) {
+    return null;
+  }
+  return { tasks: data, nextCursor: responseHeaders['x-next-cursor'] ?? null };
+};
+
+export default loadTaskPage;
@@ -30,6 +30,7 @@ const ru = {
     naming: 'Наименование',
     isMyTasks: 'Только мои задачи',
     show: 'Показать',
+    loadMore: 'Показать ещё',
     createTask: 'Создать задачу',
     createLabel: 'Создать метку',
     taskCreating: 'Создание задачи',
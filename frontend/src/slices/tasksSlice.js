@@ -6,7 +6,7 @@ const log = getLogger('slice tasks');
 log.enabled = true;
 
 const adapter = createEntityAdapter();
-const initialState = adapter.getInitialState();
+const initialState = adapter.getInitialState({ nextCursor: null });
 
 export const tasksSlice = createSlice({
   name: 'tasks',
@@ -18,9 +18,11 @@ export const tasksSlice = createSlice({
       adapter.updateOne(state, { id: payload.id, changes: payload });
     },
     removeTask: adapter.removeOne,
+    setNextCursor: (state, { payload }) => ({ ...state, nextCursor: payload }),
   },
 });
 
 export const selectors = adapter.getSelectors((state) => state.tasks);
+export const selectNextCursor = (state) => state.tasks.nextCursor;
 export const { actions } = tasksSlice;
 export default tasksSlice.reducer;
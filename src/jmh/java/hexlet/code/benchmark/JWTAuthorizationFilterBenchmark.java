@@ -0,0 +1,68 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.component.JWTHelper;
+import hexlet.code.component.TokenRevocationList;
+import hexlet.code.component.VerifiedTokenCache;
+import hexlet.code.config.security.JWTAuthorizationFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.SPRING_SECURITY_FORM_USERNAME_KEY;
+
+/**
+ * Cost of authorizing one request in {@link JWTAuthorizationFilter}, with the verified-token cache and with every
+ * token going through the full signature check. Run with {@code -prof gc} to compare allocations as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JWTAuthorizationFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private JWTAuthorizationFilter filter;
+    private String header;
+
+    @Setup
+    public void setUp() {
+        final JWTHelper jwtHelper = new JWTHelper("taskManager", 86400L, 300L, "secret");
+        final VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(
+                jwtHelper, cached, 10_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        // Nothing is revoked, so every token misses the Bloom filter and the store is never asked.
+        final TokenRevocationList tokenRevocationList = new TokenRevocationList(
+                null, 100_000, 0.001, new SimpleMeterRegistry());
+        filter = new JWTAuthorizationFilter(request -> false, verifiedTokenCache, tokenRevocationList);
+        header = "Bearer " + jwtHelper.expiring(Map.of(SPRING_SECURITY_FORM_USERNAME_KEY, "user@example.com"));
+    }
+
+    @Benchmark
+    public Authentication authorize() throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader(AUTHORIZATION, header);
+        filter.doFilter(request, new MockHttpServletResponse(), CHAIN);
+
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
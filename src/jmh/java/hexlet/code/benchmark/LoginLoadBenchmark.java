@@ -0,0 +1,101 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.AppApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Latency distribution of a cheap API call while other threads keep logging in, with BCrypt on the bounded
+ * hashing pool and on the request threads. Compare the p0.99 of {@code mixed:api} between the two settings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LoginLoadBenchmark {
+
+    private static final String EMAIL = "load@example.com";
+    private static final String PASSWORD = "password";
+
+    @Param({"true", "false"})
+    private boolean boundedHashing;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest login;
+    private HttpRequest labels;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(AppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:login-benchmark;DB_CLOSE_DELAY=-1",
+                        "security.password-hashing.enabled=" + boundedHashing,
+                        "rate-limit.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        final String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+        client = HttpClient.newHttpClient();
+
+        client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/users"))
+                .header(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"email": "%s", "firstName": "Load", "lastName": "Test", "password": "%s"}
+                        """.formatted(EMAIL, PASSWORD)))
+                .build(), HttpResponse.BodyHandlers.discarding());
+
+        login = HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"email": "%s", "password": "%s"}
+                        """.formatted(EMAIL, PASSWORD)))
+                .build();
+        final String token = client.send(login, HttpResponse.BodyHandlers.ofString()).body().trim();
+        labels = HttpRequest.newBuilder(URI.create(baseUrl + "/labels"))
+                .header(AUTHORIZATION, token)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(16)
+    public int login() throws IOException, InterruptedException {
+        return client.send(login, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public int api() throws IOException, InterruptedException {
+        return client.send(labels, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,122 @@
+package hexlet.code.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.UserDTO;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of turning loaded tasks into a task list response: mapping entities to DTOs, writing the DTOs as JSON the
+ * way the task list endpoint does, and both together. Entities are built in memory, so only the mapping and
+ * serialization are measured; allocation per operation comes from the GC profiler set up in build.gradle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TaskDtoMappingBenchmark {
+
+    private static final int STATUSES = 5;
+    private static final int USERS = 50;
+    private static final int LABELS = 20;
+
+    @Param({"1000", "10000"})
+    private int taskCount;
+
+    @Param({"0", "5", "20"})
+    private int labelsPerTask;
+
+    private List<Task> tasks;
+    private List<TaskDTO> taskDTOs;
+    private ObjectWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Date createdAt = new Date();
+        final List<TaskStatus> statuses = IntStream.range(0, STATUSES)
+                .mapToObj(i -> new TaskStatus((long) i, "status " + i, createdAt, List.of()))
+                .toList();
+        final List<User> users = IntStream.range(0, USERS).mapToObj(i -> {
+            final User user = new User();
+            user.setId((long) i);
+            user.setEmail("user" + i + "@example.com");
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setPassword("password");
+            user.setCreatedAt(createdAt);
+            return user;
+        }).toList();
+        final List<Label> labels = IntStream.range(0, LABELS)
+                .mapToObj(i -> new Label((long) i, "label " + i, Set.of(), createdAt))
+                .toList();
+
+        tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            final Set<Label> taskLabels = new HashSet<>();
+            for (int j = 0; j < labelsPerTask; j++) {
+                taskLabels.add(labels.get((i + j) % LABELS));
+            }
+            tasks.add(Task.builder()
+                    .id((long) i)
+                    .name("task " + i)
+                    .description("description of task " + i)
+                    .author(users.get(i % USERS))
+                    .executor(users.get((i * 7) % USERS))
+                    .taskStatus(statuses.get(i % STATUSES))
+                    .labels(taskLabels)
+                    .createdAt(createdAt)
+                    .build());
+        }
+        taskDTOs = mapTasks();
+
+        // The same settings Spring Boot applies to the ObjectMapper that writes responses.
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(new TypeReference<Iterable<TaskDTO>>() { });
+    }
+
+    @Benchmark
+    public List<TaskDTO> mapTasks() {
+        return tasks.stream().map(TaskDTO::toTaskDTO).toList();
+    }
+
+    @Benchmark
+    public List<UserDTO> mapAuthors() {
+        return tasks.stream().map(task -> UserDTO.toUserDTO(task.getAuthor())).toList();
+    }
+
+    @Benchmark
+    public void serializeTasks() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), taskDTOs);
+    }
+
+    @Benchmark
+    public void mapAndSerializeTasks() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), mapTasks());
+    }
+}
@@ -0,0 +1,137 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.AppApplication;
+import hexlet.code.dto.KeysetPage;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFilter;
+import hexlet.code.dto.TaskPageRequest;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskSortField;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.TaskSearchService;
+import hexlet.code.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares answering a status + executor + label filter through the QueryDSL join query with answering it
+ * from the bitmap index, both returning the first page of 50 tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskFilterBenchmark {
+
+    private static final int STATUSES = 5;
+    private static final int USERS = 50;
+    private static final int LABELS = 20;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000", "100000"})
+    private int taskCount;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskSearchService taskSearchService;
+    private TaskFilter filter;
+    private TaskPageRequest pageRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        taskService = context.getBean(TaskService.class);
+        taskSearchService = context.getBean(TaskSearchService.class);
+
+        final List<TaskStatus> statuses = context.getBean(TaskStatusRepository.class).saveAll(
+                IntStream.range(0, STATUSES).mapToObj(i -> {
+                    final TaskStatus status = new TaskStatus();
+                    status.setName("status " + i);
+                    return status;
+                }).toList());
+        final List<User> users = context.getBean(UserRepository.class).saveAll(
+                IntStream.range(0, USERS).mapToObj(i -> {
+                    final User user = new User();
+                    user.setEmail("user" + i + "@example.com");
+                    user.setFirstName("First" + i);
+                    user.setLastName("Last" + i);
+                    user.setPassword("password");
+                    return user;
+                }).toList());
+        final List<Label> labels = context.getBean(LabelRepository.class).saveAll(
+                IntStream.range(0, LABELS).mapToObj(i -> {
+                    final Label label = new Label();
+                    label.setName("label " + i);
+                    return label;
+                }).toList());
+
+        final TaskRepository taskRepository = context.getBean(TaskRepository.class);
+        final List<Task> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < taskCount; i++) {
+            batch.add(Task.builder()
+                    .name("task " + i)
+                    .description("description of task " + i)
+                    .author(users.get(i % USERS))
+                    .executor(users.get((i * 7) % USERS))
+                    .taskStatus(statuses.get(i % STATUSES))
+                    .labels(Set.of(labels.get(i % LABELS), labels.get((i * 3 + 1) % LABELS)))
+                    .build());
+            if (batch.size() == BATCH_SIZE) {
+                taskRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        taskRepository.saveAll(batch);
+        taskSearchService.rebuildIndexes();
+
+        filter = TaskFilter.of(
+                Set.of(statuses.get(0).getId()),
+                Set.of(users.get(1).getId(), users.get(2).getId()),
+                Set.of(),
+                Set.of(labels.get(3).getId()));
+        pageRequest = new TaskPageRequest(PAGE_SIZE, TaskSortField.ID, false, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public KeysetPage<TaskDTO> queryDsl() {
+        return taskService.getAllTasks(filter.toPredicate(), pageRequest);
+    }
+
+    @Benchmark
+    public KeysetPage<TaskDTO> bitmapIndex() {
+        return taskSearchService.filter(filter, null, pageRequest);
+    }
+}
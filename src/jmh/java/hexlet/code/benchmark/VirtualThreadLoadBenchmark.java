@@ -0,0 +1,129 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.AppApplication;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * One operation fires {@code clients} concurrent requests that each read a user from the database and waits for
+ * all of them, with Tomcat on its platform thread pool and on virtual threads. The auxiliary counters tell how
+ * many requests were served and how many were shed by the concurrency limit. Needs a high open files limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VirtualThreadLoadBenchmark {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"10000"})
+    private int clients;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(AppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.max-connections=" + (clients * 2),
+                        "server.tomcat.accept-count=" + clients,
+                        "spring.datasource.url=jdbc:h2:mem:thread-benchmark;DB_CLOSE_DELAY=-1",
+                        "threads.virtual.enabled=" + virtualThreads,
+                        "rate-limit.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        final String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+
+        final String user = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/users"))
+                .header(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"email": "load@example.com", "firstName": "Load", "lastName": "Test", "password": "pwd"}
+                        """))
+                .build(), HttpResponse.BodyHandlers.ofString()).body();
+        final Matcher id = ID.matcher(user);
+        if (!id.find()) {
+            throw new IllegalStateException("User is not created: " + user);
+        }
+
+        final String token = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"email": "load@example.com", "password": "pwd"}
+                        """))
+                .build(), HttpResponse.BodyHandlers.ofString()).body().trim();
+        request = HttpRequest.newBuilder(URI.create(baseUrl + "/users/" + id.group(1)))
+                .header(AUTHORIZATION, token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void concurrentClients(Outcomes outcomes) {
+        final CompletableFuture<?>[] responses = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        outcomes.count(error == null ? response.statusCode() : -1);
+                        return null;
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long served;
+        public long shed;
+        public long failed;
+
+        synchronized void count(int status) {
+            if (status == 200) {
+                served++;
+            } else if (status == 503 || status == 429) {
+                shed++;
+            } else {
+                failed++;
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package hexlet.code.component;
+
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.dto.ChangeNotice;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans committed changes out to Server-Sent Events subscribers. Changes come from the outbox, so subscribers of
+ * every instance hear about writes made on any of them, a relay interval after the commit. A subscriber is a
+ * chain of operators on a shared sink, not a thread: while idle it costs its buffer and the open connection.
+ * Notices are numbered per subscriber after filtering, so event ids run without gaps as long as nothing is
+ * dropped. Each subscriber buffers up to {@code events.buffer-size} notices; once a slow client falls that far
+ * behind the oldest ones are dropped, which the client sees as a gap in the event ids and answers with a refetch.
+ */
+@Component
+public class ChangeFeed {
+
+    private static final String HEARTBEAT = "heartbeat";
+
+    private final Sinks.Many<Change> sink = Sinks.many().multicast().directBestEffort();
+    private final Lock lock = new ReentrantLock();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final int bufferSize;
+    private final Duration heartbeat;
+    private final Counter dropped;
+
+    public ChangeFeed(@Value("${events.buffer-size:256}") int bufferSize,
+                      @Value("${events.heartbeat:30s}") Duration heartbeat,
+                      MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.heartbeat = heartbeat;
+        this.dropped = meterRegistry.counter("events.dropped");
+        meterRegistry.gauge("events.subscribers", subscribers);
+    }
+
+    /**
+     * Notices about the given resources, or about all of them when none are given. Heartbeat comments keep idle
+     * connections from being closed by proxies.
+     */
+    public Flux<ServerSentEvent<ChangeNotice>> subscribe(Set<Resource> resources) {
+        final Set<Resource> followed = resources == null || resources.isEmpty()
+                ? EnumSet.allOf(Resource.class)
+                : EnumSet.copyOf(resources);
+
+        final Flux<ServerSentEvent<ChangeNotice>> notices = Flux.defer(() -> {
+            final AtomicLong sequence = new AtomicLong();
+            return sink.asFlux()
+                    .filter(change -> followed.contains(change.resource()))
+                    .map(change -> new ChangeNotice(sequence.incrementAndGet(), change.resource(), change.type(),
+                            change.id()))
+                    .onBackpressureBuffer(bufferSize, notice -> dropped.increment(),
+                            BufferOverflowStrategy.DROP_OLDEST)
+                    .map(notice -> ServerSentEvent.builder(notice)
+                            .id(Long.toString(notice.sequence()))
+                            .event(notice.resource().name().toLowerCase())
+                            .build());
+        });
+        final Flux<ServerSentEvent<ChangeNotice>> heartbeats = Flux.interval(heartbeat)
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<ChangeNotice>builder().comment(HEARTBEAT).build());
+
+        return Flux.merge(notices, heartbeats)
+                .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
+    }
+
+    @EventListener
+    public void onOutboxEvent(OutboxEvent event) {
+        publish(new Change(event.aggregate(), event.type(), event.aggregateId()));
+    }
+
+    /**
+     * The sink takes one emitter at a time, and the relay of a test or a manual run may overlap a scheduled one.
+     */
+    private void publish(Change change) {
+        lock.lock();
+        try {
+            sink.tryEmitNext(change);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Change(Resource resource, ChangeType type, long id) {
+    }
+}
@@ -6,6 +6,7 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.impl.DefaultClock;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -49,10 +50,22 @@ public class JWTHelper {
                 .getBody();
     }
 
+    /**
+     * Last moment, in epoch millis, at which {@link #verify} still accepts a token with these claims.
+     */
+    public long acceptedUntil(final Map<String, Object> claims) {
+        final Object expiration = claims.get(Claims.EXPIRATION);
+        if (expiration == null) {
+            return Long.MAX_VALUE;
+        }
+        return (((Number) expiration).longValue() + clockSkewSec) * 1000;
+    }
+
     private Claims getClaims(final Map<String, Object> attributes, final Long expiresInSec) {
         final Claims claims = Jwts.claims();
         claims.setIssuer(issuer);
         claims.setIssuedAt(clock.now());
+        claims.setId(UUID.randomUUID().toString());
         claims.putAll(attributes);
         if (expiresInSec > 0) {
             claims.setExpiration(new Date(System.currentTimeMillis() + expiresInSec * 1000));
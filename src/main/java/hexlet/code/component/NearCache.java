@@ -0,0 +1,160 @@
+package hexlet.code.component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through copy of a small reference collection. Readers get an immutable snapshot without locking, writers
+ * replace it with a modified copy. Elements are shared between readers and must not be mutated.
+ * <p>
+ * A snapshot is reloaded once older than the ttl, and an id it doesn't hold is looked up with the finder before
+ * it is reported missing, so elements written by other instances are found before their change is applied here.
+ */
+public final class NearCache<T> {
+
+    private final Function<T, Long> idOf;
+    private final Supplier<List<T>> loader;
+    private final Function<Collection<Long>, List<T>> finder;
+    private final Duration ttl;
+    private final boolean enabled;
+    private final AtomicReference<Snapshot<T>> snapshot = new AtomicReference<>();
+    private final AtomicLong modifications = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter loads;
+
+    public NearCache(String name,
+                     Function<T, Long> idOf,
+                     Supplier<List<T>> loader,
+                     Function<Collection<Long>, List<T>> finder,
+                     Duration ttl,
+                     boolean enabled,
+                     MeterRegistry meterRegistry) {
+        this.idOf = idOf;
+        this.loader = loader;
+        this.finder = finder;
+        this.ttl = ttl;
+        this.enabled = enabled;
+        this.hits = meterRegistry.counter("reference.cache.requests", "cache", name, "result", "hit");
+        this.misses = meterRegistry.counter("reference.cache.requests", "cache", name, "result", "miss");
+        this.loads = meterRegistry.counter("reference.cache.loads", "cache", name);
+        Gauge.builder("reference.cache.size", snapshot, ref -> ref.get() == null ? 0 : ref.get().all().size())
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    public List<T> all() {
+        return snapshot().all();
+    }
+
+    public Optional<T> get(long id) {
+        final T cached = snapshot().byId().get(id);
+        return cached != null ? Optional.of(cached) : find(List.of(id)).stream().findFirst();
+    }
+
+    /**
+     * Returns the elements with the given ids, failing with {@link java.util.NoSuchElementException} on the
+     * first one that doesn't exist.
+     */
+    public List<T> getAll(Collection<Long> ids) {
+        final Map<Long, T> byId = snapshot().byId();
+        final Map<Long, T> found = new HashMap<>();
+        find(ids.stream().filter(id -> !byId.containsKey(id)).toList())
+                .forEach(element -> found.put(idOf.apply(element), element));
+        return ids.stream()
+                .map(id -> Optional.ofNullable(byId.getOrDefault(id, found.get(id))).orElseThrow())
+                .toList();
+    }
+
+    public void put(T element) {
+        modifications.incrementAndGet();
+        snapshot.updateAndGet(current -> current == null ? null : current.with(idOf.apply(element), element));
+    }
+
+    public void remove(long id) {
+        modifications.incrementAndGet();
+        snapshot.updateAndGet(current -> current == null ? null : current.without(id));
+    }
+
+    public void clear() {
+        modifications.incrementAndGet();
+        snapshot.set(null);
+    }
+
+    private Snapshot<T> snapshot() {
+        if (!enabled) {
+            return load();
+        }
+
+        final Snapshot<T> current = snapshot.get();
+        if (current != null && !current.isOlderThan(ttl)) {
+            hits.increment();
+            return current;
+        }
+
+        misses.increment();
+        final long seen = modifications.get();
+        final Snapshot<T> loaded = load();
+        // A write applied while loading may be missing from the loaded copy, keep it for this call only.
+        if (modifications.get() == seen && snapshot.compareAndSet(current, loaded) && modifications.get() != seen) {
+            snapshot.compareAndSet(loaded, null);
+        }
+        return loaded;
+    }
+
+    /**
+     * Looks up ids the snapshot doesn't hold and adds those that exist.
+     */
+    private List<T> find(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        final List<T> found = finder.apply(ids);
+        found.forEach(this::put);
+        return found;
+    }
+
+    private Snapshot<T> load() {
+        loads.increment();
+        final long loadedAt = System.nanoTime();
+        final Map<Long, T> byId = new TreeMap<>();
+        loader.get().forEach(element -> byId.put(idOf.apply(element), element));
+        return Snapshot.of(byId, loadedAt);
+    }
+
+    private record Snapshot<T>(List<T> all, Map<Long, T> byId, long loadedAt) {
+
+        static <T> Snapshot<T> of(Map<Long, T> byId, long loadedAt) {
+            return new Snapshot<>(List.copyOf(byId.values()), Map.copyOf(byId), loadedAt);
+        }
+
+        boolean isOlderThan(Duration ttl) {
+            return System.nanoTime() - loadedAt > ttl.toNanos();
+        }
+
+        Snapshot<T> with(long id, T element) {
+            final Map<Long, T> copy = new TreeMap<>(byId);
+            copy.put(id, element);
+            return of(copy, loadedAt);
+        }
+
+        Snapshot<T> without(long id) {
+            final Map<Long, T> copy = new TreeMap<>(byId);
+            copy.remove(id);
+            return of(copy, loadedAt);
+        }
+    }
+}
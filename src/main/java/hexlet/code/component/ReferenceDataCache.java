@@ -0,0 +1,158 @@
+package hexlet.code.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.LabelDTO;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskStatusDTO;
+import hexlet.code.dto.UserDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.LabelChangedEvent;
+import hexlet.code.event.OutboxEvent;
+import hexlet.code.event.StatusChangedEvent;
+import hexlet.code.event.UserChangedEvent;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Near-caches of statuses, labels and user summaries. Snapshots are loaded on first use and patched from the
+ * committed change events of this instance and from the outbox for those of the others; they are reloaded after
+ * {@code reference-cache.ttl} in case a message was missed. Set {@code reference-cache.enabled=false} to read
+ * through to the database every time.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private final NearCache<TaskStatusDTO> statuses;
+    private final NearCache<LabelDTO> labels;
+    private final NearCache<UserDTO> users;
+    private final ObjectMapper objectMapper;
+
+    public ReferenceDataCache(TaskStatusRepository taskStatusRepository,
+                              LabelRepository labelRepository,
+                              UserRepository userRepository,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${reference-cache.enabled:true}") boolean enabled,
+                              @Value("${reference-cache.ttl:5m}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.statuses = new NearCache<>("statuses", TaskStatusDTO::id,
+                () -> taskStatusRepository.findAll().stream().map(TaskStatusDTO::toStatusDTO).toList(),
+                ids -> taskStatusRepository.findAllById(ids).stream().map(TaskStatusDTO::toStatusDTO).toList(),
+                ttl, enabled, meterRegistry);
+        this.labels = new NearCache<>("labels", LabelDTO::id,
+                () -> labelRepository.findAll().stream().map(LabelDTO::toLabelDTO).toList(),
+                ids -> labelRepository.findAllById(ids).stream().map(LabelDTO::toLabelDTO).toList(),
+                ttl, enabled, meterRegistry);
+        this.users = new NearCache<>("users", UserDTO::getId,
+                () -> userRepository.findAll().stream().map(UserDTO::toUserDTO).toList(),
+                ids -> userRepository.findAllById(ids).stream().map(UserDTO::toUserDTO).toList(),
+                ttl, enabled, meterRegistry);
+    }
+
+    public NearCache<TaskStatusDTO> statuses() {
+        return statuses;
+    }
+
+    public NearCache<LabelDTO> labels() {
+        return labels;
+    }
+
+    public NearCache<UserDTO> users() {
+        return users;
+    }
+
+    /**
+     * Maps a task just written, whose users, status and labels may be uninitialized references: they are taken
+     * from the snapshots, so mapping them reads no rows unless a snapshot misses one.
+     */
+    public TaskDTO toTaskDTO(Task task) {
+        return new TaskDTO(
+                task.getId(),
+                task.getName(),
+                task.getDescription(),
+                user(task.getAuthor()),
+                user(task.getExecutor()),
+                status(task.getTaskStatus()),
+                labels(task.getLabels()),
+                task.getCreatedAt());
+    }
+
+    public void clear() {
+        statuses.clear();
+        labels.clear();
+        users.clear();
+    }
+
+    @TransactionalEventListener
+    public void onStatusChanged(StatusChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            statuses.remove(event.id());
+        } else {
+            statuses.put(event.status());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLabelChanged(LabelChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            labels.remove(event.id());
+        } else {
+            labels.put(event.label());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            users.remove(event.id());
+        } else {
+            users.put(event.user());
+        }
+    }
+
+    @EventListener
+    public void onOutboxEvent(OutboxEvent event) {
+        switch (event.aggregate()) {
+            case STATUSES -> apply(statuses, event, TaskStatusDTO.class);
+            case LABELS -> apply(labels, event, LabelDTO.class);
+            case USERS -> apply(users, event, UserDTO.class);
+            default -> {
+                // Tasks aren't reference data.
+            }
+        }
+    }
+
+    private UserDTO user(User user) {
+        return user == null ? null : users.get(user.getId()).orElseGet(() -> UserDTO.toUserDTO(user));
+    }
+
+    private TaskStatusDTO status(TaskStatus status) {
+        return status == null ? null : statuses.get(status.getId()).orElseGet(() -> TaskStatusDTO.toStatusDTO(status));
+    }
+
+    private Set<LabelDTO> labels(Set<Label> taskLabels) {
+        return new HashSet<>(labels.getAll(taskLabels.stream().map(Label::getId).toList()));
+    }
+
+    private <T> void apply(NearCache<T> cache, OutboxEvent event, Class<T> type) {
+        if (event.type() == ChangeType.DELETED) {
+            cache.remove(event.aggregateId());
+        } else {
+            cache.put(event.state(objectMapper, type));
+        }
+    }
+}
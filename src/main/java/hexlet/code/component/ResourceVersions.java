@@ -0,0 +1,88 @@
+package hexlet.code.component;
+
+import hexlet.code.event.LabelChangedEvent;
+import hexlet.code.event.OutboxEvent;
+import hexlet.code.event.StatusChangedEvent;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.UserChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic change counters per collection, bumped after every committed write. ETags are built from the counters
+ * a representation depends on, so a matching {@code If-None-Match} is answered before anything is loaded.
+ * The startup epoch keeps tags issued before a restart from matching the reset counters. Counters move after the
+ * other after-commit listeners, so caches and indexes are already up to date once a new tag is handed out.
+ * <p>
+ * Writes of other instances move the counters once the outbox relays them, so for up to the relay's poll interval
+ * plus {@code outbox.settle-time} a tag may still be confirmed after such a write. Writes of this instance are
+ * counted twice, on commit and when relayed, which only costs a revalidation.
+ */
+@Component
+public class ResourceVersions {
+
+    public enum Resource {
+        TASKS,
+        LABELS,
+        STATUSES,
+        USERS
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Map<Resource, AtomicLong> counters = new EnumMap<>(Resource.class);
+
+    public ResourceVersions() {
+        for (Resource resource : Resource.values()) {
+            counters.put(resource, new AtomicLong());
+        }
+    }
+
+    /**
+     * Strong ETag over the current counters of the given collections. Has to be taken before the representation
+     * is loaded, so the tag is never newer than the body it is sent with.
+     */
+    public String eTag(String qualifier, Resource... resources) {
+        final StringBuilder eTag = new StringBuilder("\"").append(epoch).append('-').append(qualifier);
+        for (Resource resource : resources) {
+            eTag.append('-').append(counters.get(resource).get());
+        }
+        return eTag.append('"').toString();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        counters.get(Resource.TASKS).incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onStatusChanged(StatusChangedEvent event) {
+        counters.get(Resource.STATUSES).incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onLabelChanged(LabelChangedEvent event) {
+        counters.get(Resource.LABELS).incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        counters.get(Resource.USERS).incrementAndGet();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener
+    public void onOutboxEvent(OutboxEvent event) {
+        counters.get(event.aggregate()).incrementAndGet();
+    }
+}
@@ -0,0 +1,183 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.LabelDTO;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFilter;
+import hexlet.code.dto.UserDTO;
+import hexlet.code.event.TaskChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static hexlet.code.event.ChangeType.DELETED;
+
+/**
+ * Secondary index of task ids kept in compressed bitmaps per status, executor, author and label.
+ * Filters are answered with bitmap unions and intersections, the database is only asked for the rows of the
+ * resulting page. Commits of this instance are applied here, those of other instances come in through the outbox,
+ * see {@code TaskSearchService}.
+ * <p>
+ * Ids are stored as unsigned ints, which covers ids below {@link #MAX_TASK_ID}. A task with a larger id can't be
+ * indexed; the index then reports itself incomplete until the next rebuild and filters go to the database.
+ */
+@Slf4j
+@Component
+public class TaskBitmapIndex {
+
+    /**
+     * Exclusive upper bound of the task ids the bitmaps can hold.
+     */
+    public static final long MAX_TASK_ID = 1L << Integer.SIZE;
+
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<Long, RoaringBitmap> byStatus = new HashMap<>();
+    private final Map<Long, RoaringBitmap> byExecutor = new HashMap<>();
+    private final Map<Long, RoaringBitmap> byAuthor = new HashMap<>();
+    private final Map<Long, RoaringBitmap> byLabel = new HashMap<>();
+    private final List<Map<Long, RoaringBitmap>> dimensions = List.of(byStatus, byExecutor, byAuthor, byLabel);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean complete = true;
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() == DELETED) {
+            remove(event.id());
+        } else {
+            put(event.task());
+        }
+    }
+
+    public void put(TaskDTO task) {
+        if (!fits(task.id())) {
+            if (complete) {
+                log.warn("Task id {} doesn't fit the bitmap index, filtering falls back to the database", task.id());
+            }
+            complete = false;
+            return;
+        }
+        final int id = (int) task.id();
+        lock.writeLock().lock();
+        try {
+            removeEverywhere(id);
+            all.add(id);
+            if (task.taskStatus() != null) {
+                add(byStatus, task.taskStatus().id(), id);
+            }
+            add(byExecutor, userId(task.executor()), id);
+            add(byAuthor, userId(task.author()), id);
+            if (task.labels() != null) {
+                for (LabelDTO label : task.labels()) {
+                    add(byLabel, label.id(), id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long taskId) {
+        if (!fits(taskId)) {
+            return;
+        }
+        final int id = (int) taskId;
+        lock.writeLock().lock();
+        try {
+            removeEverywhere(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            all.clear();
+            dimensions.forEach(Map::clear);
+            complete = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether every task is in the index, which stops being true once a task id at or above
+     * {@link #MAX_TASK_ID} shows up.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Task id of an entry of a bitmap returned by {@link #filter}.
+     */
+    public static long toTaskId(int id) {
+        return Integer.toUnsignedLong(id);
+    }
+
+    /**
+     * Returns a fresh bitmap of task ids matching the filter, the caller is free to modify it.
+     */
+    public RoaringBitmap filter(TaskFilter filter) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = null;
+            result = intersect(result, byStatus, filter.taskStatusIds());
+            result = intersect(result, byExecutor, filter.executorIds());
+            result = intersect(result, byAuthor, filter.authorIds());
+            result = intersect(result, byLabel, filter.labelIds());
+            return result == null ? all.clone() : result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static RoaringBitmap intersect(RoaringBitmap result, Map<Long, RoaringBitmap> dimension, Set<Long> keys) {
+        if (keys.isEmpty()) {
+            return result;
+        }
+
+        final RoaringBitmap union = new RoaringBitmap();
+        for (Long key : keys) {
+            final RoaringBitmap bitmap = dimension.get(key);
+            if (bitmap != null) {
+                union.or(bitmap);
+            }
+        }
+        return result == null ? union : RoaringBitmap.and(result, union);
+    }
+
+    private static void add(Map<Long, RoaringBitmap> dimension, Long key, int id) {
+        if (key != null) {
+            dimension.computeIfAbsent(key, k -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    private void removeEverywhere(int id) {
+        if (!all.contains(id)) {
+            return;
+        }
+        all.remove(id);
+        for (Map<Long, RoaringBitmap> dimension : dimensions) {
+            dimension.values().removeIf(bitmap -> {
+                bitmap.remove(id);
+                return bitmap.isEmpty();
+            });
+        }
+    }
+
+    private static boolean fits(long taskId) {
+        return taskId >= 0 && taskId < MAX_TASK_ID;
+    }
+
+    private static Long userId(UserDTO user) {
+        return user == null ? null : user.getId();
+    }
+}
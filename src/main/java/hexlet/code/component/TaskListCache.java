@@ -0,0 +1,230 @@
+package hexlet.code.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.dto.KeysetPage;
+import hexlet.code.dto.LabelDTO;
+import hexlet.code.dto.TaskCursor;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFilter;
+import hexlet.code.dto.TaskPageRequest;
+import hexlet.code.dto.UserDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.LabelChangedEvent;
+import hexlet.code.event.OutboxEvent;
+import hexlet.code.event.StatusChangedEvent;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.UserChangedEvent;
+import hexlet.code.repository.TaskSortField;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.MultiValueMap;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of task list pages. Entries are keyed by the sorted request parameters the QueryDSL predicate and
+ * the page are bound from, and are dropped after commit only when a write can change their content. Writes of this
+ * instance drop entries as they commit, those of other instances once the outbox relays them.
+ */
+@Component
+public class TaskListCache {
+
+    public static final String CACHE_NAME = "tasks.list";
+
+    /**
+     * Parameters the cache can reason about. Any other parameter is a QueryDSL binding that can't be evaluated
+     * against a changed task, so such entries are dropped on every task write.
+     */
+    private static final Set<String> TRACKED_PARAMS = Set.of(
+            "limit", "sort", "after", "taskStatus", "executorId", "authorId", "labelsId");
+
+    private final Cache<Key, Entry> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final ObjectMapper objectMapper;
+
+    public TaskListCache(@Value("${tasks.cache.maximum-size:1000}") long maximumSize,
+                         @Value("${tasks.cache.ttl:30s}") Duration ttl,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public KeysetPage<TaskDTO> get(MultiValueMap<String, String> params,
+                                   TaskFilter filter,
+                                   TaskPageRequest pageRequest,
+                                   Supplier<KeysetPage<TaskDTO>> loader) {
+        final Key key = Key.of(params);
+        final Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.page();
+        }
+
+        final long seen = generation.get();
+        final KeysetPage<TaskDTO> page = loader.get();
+        if (generation.get() == seen) {
+            cache.put(key, Entry.of(page, filter, pageRequest, !TRACKED_PARAMS.containsAll(params.keySet())));
+            // A write committed while the entry was being stored may have missed it, drop it to be safe.
+            if (generation.get() != seen) {
+                cache.invalidate(key);
+            }
+        }
+        return page;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        onTaskChanged(event.id(), event.task());
+    }
+
+    @TransactionalEventListener
+    public void onStatusChanged(StatusChangedEvent event) {
+        onReferenceChanged(event.type(), event.id(), Entry::statusIds);
+    }
+
+    @TransactionalEventListener
+    public void onLabelChanged(LabelChangedEvent event) {
+        onReferenceChanged(event.type(), event.id(), Entry::labelIds);
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        onReferenceChanged(event.type(), event.id(), Entry::userIds);
+    }
+
+    /**
+     * Messages of this instance's own writes come in again here and drop what was cached since, which is harmless.
+     */
+    @EventListener
+    public void onOutboxEvent(OutboxEvent event) {
+        switch (event.aggregate()) {
+            case TASKS -> onTaskChanged(event.aggregateId(), event.state(objectMapper, TaskDTO.class));
+            case STATUSES -> onReferenceChanged(event.type(), event.aggregateId(), Entry::statusIds);
+            case LABELS -> onReferenceChanged(event.type(), event.aggregateId(), Entry::labelIds);
+            case USERS -> onReferenceChanged(event.type(), event.aggregateId(), Entry::userIds);
+            default -> throw new IllegalStateException("Unexpected aggregate: " + event.aggregate());
+        }
+    }
+
+    private void onTaskChanged(long id, @Nullable TaskDTO task) {
+        invalidate(entry -> entry.isAffectedBy(id, task));
+    }
+
+    /**
+     * A status, label or user that was just created can't be on any cached page yet.
+     */
+    private void onReferenceChanged(ChangeType type, long id, Function<Entry, Set<Long>> references) {
+        if (type != ChangeType.CREATED) {
+            invalidate(entry -> entry.opaque() || references.apply(entry).contains(id));
+        }
+    }
+
+    private void invalidate(Predicate<Entry> affected) {
+        generation.incrementAndGet();
+        cache.asMap().values().removeIf(affected);
+    }
+
+    private record Key(SortedMap<String, List<String>> params) {
+        static Key of(MultiValueMap<String, String> params) {
+            final SortedMap<String, List<String>> canonical = new TreeMap<>();
+            for (Map.Entry<String, List<String>> param : params.entrySet()) {
+                canonical.put(param.getKey(), param.getValue().stream().sorted().toList());
+            }
+            return new Key(canonical);
+        }
+    }
+
+    private record Entry(KeysetPage<TaskDTO> page,
+                         TaskFilter filter,
+                         TaskPageRequest pageRequest,
+                         boolean opaque,
+                         Set<Long> taskIds,
+                         Set<Long> statusIds,
+                         Set<Long> userIds,
+                         Set<Long> labelIds) {
+
+        static Entry of(KeysetPage<TaskDTO> page, TaskFilter filter, TaskPageRequest pageRequest, boolean opaque) {
+            final Set<Long> taskIds = new HashSet<>();
+            final Set<Long> statusIds = new HashSet<>();
+            final Set<Long> userIds = new HashSet<>();
+            final Set<Long> labelIds = new HashSet<>();
+            for (TaskDTO task : page.content()) {
+                taskIds.add(task.id());
+                if (task.taskStatus() != null) {
+                    statusIds.add(task.taskStatus().id());
+                }
+                addUser(userIds, task.author());
+                addUser(userIds, task.executor());
+                if (task.labels() != null) {
+                    task.labels().stream().map(LabelDTO::id).forEach(labelIds::add);
+                }
+            }
+            return new Entry(page, filter, pageRequest, opaque, taskIds, statusIds, userIds, labelIds);
+        }
+
+        /**
+         * A task on the page always invalidates it. A task off the page can only join it, which is checked
+         * against the filter and, for pages ordered by id, against the id window the page covers.
+         */
+        boolean isAffectedBy(long id, @Nullable TaskDTO task) {
+            if (taskIds.contains(id)) {
+                return true;
+            }
+            if (task == null) {
+                return false;
+            }
+            if (opaque) {
+                return true;
+            }
+            if (!filter.matches(task)) {
+                return false;
+            }
+            return pageRequest.sort() != TaskSortField.ID || isInWindow(id);
+        }
+
+        private boolean isInWindow(long id) {
+            final boolean descending = pageRequest.descending();
+            final TaskCursor after = pageRequest.after();
+            final boolean afterStart = after == null || (descending ? id < after.id() : id > after.id());
+            if (page.nextCursor() == null) {
+                return afterStart;
+            }
+
+            final long last = page.content().get(page.content().size() - 1).id();
+            return afterStart && (descending ? id > last : id < last);
+        }
+
+        private static void addUser(Set<Long> userIds, UserDTO user) {
+            if (user != null && user.getId() != null) {
+                userIds.add(user.getId());
+            }
+        }
+    }
+}
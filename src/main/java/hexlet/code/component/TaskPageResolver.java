@@ -0,0 +1,59 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.TaskCursor;
+import hexlet.code.dto.TaskPageRequest;
+import hexlet.code.repository.TaskSortField;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+@Component
+public class TaskPageResolver {
+
+    private static final String DESCENDING_PREFIX = "-";
+    private static final String DEFAULT_SORT = "id";
+
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public TaskPageResolver(@Value("${tasks.page.default-limit:500}") final int defaultLimit,
+                            @Value("${tasks.page.max-limit:1000}") final int maxLimit) {
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public TaskPageRequest resolve(final Integer limit, final String sortParam, final String after) {
+        final String sort = sortParam == null ? DEFAULT_SORT : sortParam;
+        final boolean descending = sort.startsWith(DESCENDING_PREFIX);
+        final String property = descending ? sort.substring(DESCENDING_PREFIX.length()) : sort;
+        final TaskSortField sortField = TaskSortField.fromProperty(property)
+                .orElseThrow(() -> new ResponseStatusException(BAD_REQUEST, "Unknown sort property: " + property));
+
+        final TaskCursor cursor = after == null ? null : decode(after);
+        if (cursor != null && cursor.sort() != sortField) {
+            throw new ResponseStatusException(BAD_REQUEST, "Cursor was issued for another sort order");
+        }
+
+        return new TaskPageRequest(resolveLimit(limit), sortField, descending, cursor);
+    }
+
+    private int resolveLimit(final Integer limit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        if (limit < 1) {
+            throw new ResponseStatusException(BAD_REQUEST, "Parameter 'limit' must be positive");
+        }
+        return Math.min(limit, maxLimit);
+    }
+
+    private static TaskCursor decode(final String after) {
+        try {
+            return TaskCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(BAD_REQUEST, "Malformed cursor");
+        }
+    }
+}
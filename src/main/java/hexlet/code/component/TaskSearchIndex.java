@@ -0,0 +1,153 @@
+package hexlet.code.component;
+
+import hexlet.code.event.TaskChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static hexlet.code.event.ChangeType.DELETED;
+
+/**
+ * Inverted index over task names and descriptions. Terms are kept sorted, so a query token matches every term
+ * it is a prefix of with a single range lookup. Tokens of a query are combined with AND and hits are ranked
+ * by a tf-idf like score where name terms weigh more than description terms and exact terms more than prefixes.
+ * Commits of this instance are applied here, those of other instances come in through the outbox, see
+ * {@code TaskSearchService}.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_BOOST = 0.5;
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() == DELETED) {
+            remove(event.id());
+        } else {
+            put(event.id(), event.task().name(), event.task().description());
+        }
+    }
+
+    public void put(long id, String name, String description) {
+        final Map<String, Integer> terms = new HashMap<>();
+        tokenize(name).forEach(term -> terms.merge(term, NAME_WEIGHT, Integer::sum));
+        tokenize(description).forEach(term -> terms.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            documents.put(id, terms);
+            terms.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns ids of all tasks matching every token of the query, best hits first.
+     */
+    public List<Long> search(String query) {
+        final List<String> tokens = tokenize(query).distinct().toList();
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String token : tokens) {
+                final Map<Long, Double> tokenScores = score(token);
+                scores = scores == null ? tokenScores : intersect(scores, tokenScores);
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> score(String token) {
+        final Map<Long, Double> scores = new HashMap<>();
+        postings.subMap(token, true, token + Character.MAX_VALUE, true).forEach((term, hits) -> {
+            final double boost = term.length() == token.length() ? 1.0 : PREFIX_BOOST;
+            final double idf = Math.log(1.0 + (double) documents.size() / hits.size());
+            hits.forEach((id, weight) -> scores.merge(id, boost * weight * idf, Double::sum));
+        });
+        return scores;
+    }
+
+    private static Map<Long, Double> intersect(Map<Long, Double> left, Map<Long, Double> right) {
+        final Map<Long, Double> result = new HashMap<>();
+        left.forEach((id, score) -> {
+            final Double other = right.get(id);
+            if (other != null) {
+                result.put(id, score + other);
+            }
+        });
+        return result;
+    }
+
+    private void removeDocument(long id) {
+        final Map<String, Integer> terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        terms.keySet().forEach(term -> {
+            final Map<Long, Integer> hits = postings.get(term);
+            hits.remove(id);
+            if (hits.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+    }
+
+    private static Stream<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Stream.empty();
+        }
+        return Arrays.stream(SEPARATOR.split(text.toLowerCase()))
+                .filter(token -> !token.isEmpty());
+    }
+}
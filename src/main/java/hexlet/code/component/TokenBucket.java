@@ -0,0 +1,37 @@
+package hexlet.code.component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single theoretical arrival time (GCRA), so taking a token is one compare-and-set and
+ * refilling needs no timer.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong arrival;
+
+    public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.toleranceNanos = intervalNanos * Math.max(1, capacity);
+        this.arrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token and returns 0, or returns how many nanoseconds to wait until one is available.
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            final long current = arrival.get();
+            final long next = Math.max(current, nowNanos) + intervalNanos;
+            final long wait = next - toleranceNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
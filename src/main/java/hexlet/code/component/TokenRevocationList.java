@@ -0,0 +1,128 @@
+package hexlet.code.component;
+
+import hexlet.code.model.RevokedToken;
+import hexlet.code.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Revoked token ids, persisted with their expiry and mirrored into a Bloom filter. Nearly every token misses the
+ * filter and is accepted without touching the store, only filter hits are looked up. Rows of expired tokens are
+ * deleted every {@code security.revocation.compaction-interval-ms}; as a Bloom filter can't forget, it is rebuilt
+ * from the remaining rows afterwards.
+ * <p>
+ * Tokens revoked by other instances are picked up every {@code security.revocation.refresh-interval-ms}, which is
+ * how long such a token may still be accepted here. Each refresh reads the rows revoked since the previous one,
+ * reaching back {@code security.revocation.refresh-overlap} further to cover revocations committed after a refresh
+ * read past their timestamp and clocks that are slightly apart.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedTokens;
+    private final double falsePositiveRate;
+    private final Duration refreshOverlap;
+    private final Counter negatives;
+    private final Counter falsePositives;
+    private final Counter revoked;
+    private final Lock rebuildLock = new ReentrantLock();
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+    private Instant refreshedAt = Instant.EPOCH;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${security.revocation.expected-tokens:100000}") long expectedTokens,
+                               @Value("${security.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+                               @Value("${security.revocation.refresh-overlap:10s}") Duration refreshOverlap,
+                               MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.refreshOverlap = refreshOverlap;
+        this.negatives = meterRegistry.counter("token.revocation.checks", "result", "bloom-negative");
+        this.falsePositives = meterRegistry.counter("token.revocation.checks", "result", "false-positive");
+        this.revoked = meterRegistry.counter("token.revocation.checks", "result", "revoked");
+        this.filter = BloomFilter.create(expectedTokens, falsePositiveRate);
+    }
+
+    /**
+     * Tokens issued without an id can't be revoked and are never reported as such.
+     */
+    public boolean isRevoked(Map<String, Object> claims) {
+        final Object jti = claims.get(Claims.ID);
+        if (jti == null || !filter.mightContain(jti.toString())) {
+            negatives.increment();
+            return false;
+        }
+        if (revokedTokenRepository.existsById(jti.toString())) {
+            revoked.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    public void revoke(String jti, Instant expiresAt) {
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt, Instant.now()));
+        filter.put(jti);
+        final BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(jti);
+        }
+        // A rebuild that read the rows before this one was saved may have swapped the filter in the meantime.
+        filter.put(jti);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        // A lock rather than synchronized: the rows are read while holding it, which would pin a virtual thread.
+        rebuildLock.lock();
+        try {
+            final BloomFilter next = BloomFilter.create(expectedTokens, falsePositiveRate);
+            rebuilding = next;
+            final Instant now = Instant.now();
+            final List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+            jtis.forEach(next::put);
+            filter = next;
+            rebuilding = null;
+            refreshedAt = now;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${security.revocation.refresh-interval-ms:5000}",
+            fixedDelayString = "${security.revocation.refresh-interval-ms:5000}")
+    public void refresh() {
+        rebuildLock.lock();
+        try {
+            final Instant now = Instant.now();
+            revokedTokenRepository.findActiveJtisRevokedSince(refreshedAt.minus(refreshOverlap), now)
+                    .forEach(filter::put);
+            refreshedAt = now;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${security.revocation.compaction-interval-ms:3600000}",
+            fixedDelayString = "${security.revocation.compaction-interval-ms:3600000}")
+    public void compact() {
+        revokedTokenRepository.deleteExpired(Instant.now());
+        rebuild();
+    }
+}
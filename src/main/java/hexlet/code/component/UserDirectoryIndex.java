@@ -0,0 +1,136 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.UserDTO;
+import hexlet.code.event.UserChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static hexlet.code.event.ChangeType.DELETED;
+
+/**
+ * Sorted index of user emails, first names, last names and full names for autocomplete. A prefix is answered
+ * with one range scan over the terms, so hits come out ordered by the term they matched.
+ * <p>
+ * Built on startup and patched as this instance's user changes commit; the user service applies writes of other
+ * instances from the outbox.
+ */
+@Component
+public class UserDirectoryIndex {
+
+    private final NavigableMap<String, Set<Long>> terms = new TreeMap<>();
+    private final Map<Long, List<String>> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.type() == DELETED) {
+            remove(event.id());
+        } else {
+            put(event.user());
+        }
+    }
+
+    public void put(UserDTO user) {
+        final List<String> userTerms = Stream.of(
+                        user.getEmail(),
+                        user.getFirstName(),
+                        user.getLastName(),
+                        fullName(user))
+                .map(UserDirectoryIndex::normalize)
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toList();
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(user.getId());
+            documents.put(user.getId(), userTerms);
+            userTerms.forEach(term -> terms.computeIfAbsent(term, key -> new TreeSet<>()).add(user.getId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns ids of up to {@code limit} users with a term starting with the prefix, ignoring case.
+     */
+    public List<Long> suggest(String prefix, int limit) {
+        final String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        final Set<Long> hits = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            for (Set<Long> ids : terms.subMap(normalized, true, normalized + Character.MAX_VALUE, true).values()) {
+                for (Long id : ids) {
+                    hits.add(id);
+                    if (hits.size() == limit) {
+                        return List.copyOf(hits);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return List.copyOf(hits);
+    }
+
+    private void removeDocument(long id) {
+        final List<String> userTerms = documents.remove(id);
+        if (userTerms == null) {
+            return;
+        }
+        userTerms.forEach(term -> {
+            final Set<Long> ids = terms.get(term);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                terms.remove(term);
+            }
+        });
+    }
+
+    private static String fullName(UserDTO user) {
+        return Stream.of(user.getFirstName(), user.getLastName())
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" "));
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.strip().replaceAll("\\s+", " ").toLowerCase();
+    }
+}
@@ -0,0 +1,146 @@
+package hexlet.code.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers tokens that already passed {@link JWTHelper#verify}, keyed by their SHA-256 digest. An entry lives
+ * until the token expires, clock skew included, but no longer than {@code jwt.cache.ttl}. The digest is taken
+ * straight from the header characters, so a hit doesn't copy the token out of the header.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    public static final String CACHE_NAME = "jwt.verified";
+
+    private static final int DIGEST_LENGTH = 32;
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(VerifiedTokenCache::sha256);
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[512]);
+    private static final ThreadLocal<byte[]> DIGEST = ThreadLocal.withInitial(() -> new byte[DIGEST_LENGTH]);
+
+    private final JWTHelper jwtHelper;
+    private final Cache<Digest, VerifiedToken> cache;
+
+    public VerifiedTokenCache(JWTHelper jwtHelper,
+                              @Value("${jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+                              @Value("${jwt.cache.ttl:10m}") Duration ttl,
+                              MeterRegistry meterRegistry) {
+        this.jwtHelper = jwtHelper;
+        if (enabled) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfter(new TokenExpiry(ttl.toNanos()))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * Verifies the token found at {@code [start, end)} of the header and returns its claims.
+     */
+    public Map<String, Object> verify(String header, int start, int end) {
+        final Digest digest = cache == null ? null : digest(header, start, end);
+        if (digest == null) {
+            return jwtHelper.verify(header.substring(start, end));
+        }
+
+        final VerifiedToken cached = cache.getIfPresent(digest);
+        if (cached != null && System.currentTimeMillis() <= cached.acceptedUntil()) {
+            return cached.claims();
+        }
+
+        final Map<String, Object> claims = Map.copyOf(jwtHelper.verify(header.substring(start, end)));
+        cache.put(digest, new VerifiedToken(claims, jwtHelper.acceptedUntil(claims)));
+        return claims;
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Returns {@code null} for characters outside ASCII, which no valid token contains and which can't be fed to
+     * the digest byte by byte without ambiguity.
+     */
+    private static Digest digest(String header, int start, int end) {
+        final int length = end - start;
+        byte[] buffer = BUFFER.get();
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+            BUFFER.set(buffer);
+        }
+        for (int i = 0; i < length; i++) {
+            final char c = header.charAt(start + i);
+            if (c > 0x7F) {
+                return null;
+            }
+            buffer[i] = (byte) c;
+        }
+
+        final MessageDigest sha256 = SHA_256.get();
+        final byte[] digest = DIGEST.get();
+        sha256.update(buffer, 0, length);
+        try {
+            sha256.digest(digest, 0, DIGEST_LENGTH);
+        } catch (DigestException e) {
+            throw new IllegalStateException(e);
+        }
+        return new Digest((long) LONGS.get(digest, 0), (long) LONGS.get(digest, Long.BYTES),
+                (long) LONGS.get(digest, 2 * Long.BYTES), (long) LONGS.get(digest, 3 * Long.BYTES));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Digest(long first, long second, long third, long fourth) {
+    }
+
+    private record VerifiedToken(Map<String, Object> claims, long acceptedUntil) {
+    }
+
+    private record TokenExpiry(long maxNanos) implements Expiry<Digest, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(Digest key, VerifiedToken value, long currentTime) {
+            final long remainingMillis = value.acceptedUntil() - System.currentTimeMillis();
+            return Math.max(0, Math.min(maxNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis)));
+        }
+
+        @Override
+        public long expireAfterUpdate(Digest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Digest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package hexlet.code.component.outbox;
+
+import hexlet.code.event.OutboxEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+/**
+ * Publishes every message as an {@link OutboxEvent} to listeners in this JVM. Each instance publishes every
+ * message to its own listeners, those that start later only get messages from then on. This is how caches and
+ * indexes learn about writes made on other instances. A listener that throws fails the batch, and the messages are
+ * published again.
+ */
+public class ApplicationEventOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ApplicationEventOutboxSink(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public String name() {
+        return "events";
+    }
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> batch) {
+        batch.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,45 @@
+package hexlet.code.component.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.event.OutboxEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Appends messages to a local file, one JSON document per line, and forces the batch to disk before it counts
+ * as delivered.
+ */
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileOutboxSink(ObjectMapper objectMapper, Path path) {
+        this.objectMapper = objectMapper;
+        this.path = path;
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> batch) throws IOException {
+        final ByteBuffer lines = ByteBuffer.wrap(NdJson.write(objectMapper, batch));
+        try (FileChannel channel = FileChannel.open(path, CREATE, WRITE, APPEND)) {
+            while (lines.hasRemaining()) {
+                channel.write(lines);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package hexlet.code.component.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.event.OutboxEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+final class NdJson {
+
+    private NdJson() {
+    }
+
+    static byte[] write(ObjectMapper objectMapper, List<OutboxEvent> batch) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (OutboxEvent event : batch) {
+            out.write(objectMapper.writeValueAsBytes(event));
+            out.write('\n');
+        }
+        return out.toByteArray();
+    }
+}
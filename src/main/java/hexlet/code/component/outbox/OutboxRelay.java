@@ -0,0 +1,173 @@
+package hexlet.code.component.outbox;
+
+import hexlet.code.config.OutboxProperties;
+import hexlet.code.event.OutboxEvent;
+import hexlet.code.model.OutboxOffset;
+import hexlet.code.repository.OutboxMessageRepository;
+import hexlet.code.repository.OutboxOffsetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves outbox messages to every sink in batches, each sink from its own offset. The offset row is locked while
+ * a batch is delivered and moved forward in the same transaction, so instances sharing the database take turns
+ * rather than deliver a batch twice. A sink gets messages in id order and a failed batch blocks the ones after
+ * it, which keeps the order per key at the price of stalling the sink until the batch goes through. Sinks that
+ * aren't {@link OutboxSink#isShared() shared} are fed by every instance from an offset of its own, in memory.
+ */
+@Slf4j
+public class OutboxRelay {
+
+    private final List<SinkState> sinks;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final OutboxOffsetRepository outboxOffsetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+
+    public OutboxRelay(List<OutboxSink> sinks,
+                       OutboxMessageRepository outboxMessageRepository,
+                       OutboxOffsetRepository outboxOffsetRepository,
+                       TransactionTemplate transactionTemplate,
+                       OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.sinks = sinks.stream().map(sink -> new SinkState(sink, meterRegistry)).toList();
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.outboxOffsetRepository = outboxOffsetRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Runs before the caches and indexes load their state on startup, so whatever commits after this position is
+     * read also reaches them as a message.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        final long newest = outboxMessageRepository.findLastSettledId(Instant.now().minus(properties.settleTime()))
+                .orElse(0L);
+        sinks.stream()
+                .filter(state -> !state.sink.isShared())
+                .forEach(state -> state.position = newest);
+    }
+
+    @Scheduled(initialDelayString = "${outbox.poll-interval-ms:1000}",
+            fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void relay() {
+        final Instant now = Instant.now();
+        for (SinkState state : sinks) {
+            if (now.isBefore(state.retryAt) || (!state.sink.isShared() && state.position == null)) {
+                continue;
+            }
+            try {
+                // A full batch means more may be waiting.
+                int delivered;
+                do {
+                    delivered = deliverBatch(state);
+                } while (delivered == properties.batchSize());
+                state.failures = 0;
+            } catch (RuntimeException e) {
+                state.failed(now);
+                log.warn("Outbox sink '{}' failed, retrying after {}", state.sink.name(), state.retryAt, e);
+            }
+        }
+    }
+
+    /**
+     * Deletes messages every sink has taken, keeping them for {@code outbox.retention} to replay into a new sink.
+     */
+    @Scheduled(initialDelayString = "${outbox.compaction-interval-ms:3600000}",
+            fixedDelayString = "${outbox.compaction-interval-ms:3600000}")
+    public void compact() {
+        final long delivered = sinks.stream()
+                .mapToLong(this::position)
+                .min()
+                .orElse(0L);
+        outboxMessageRepository.deleteDelivered(delivered, Instant.now().minus(properties.retention()));
+    }
+
+    /**
+     * Only this instance's offset of a sink that isn't shared is known here; messages are kept for
+     * {@code outbox.retention} anyway, which is far longer than any instance trails behind.
+     */
+    private long position(SinkState state) {
+        if (!state.sink.isShared()) {
+            return state.position == null ? 0L : state.position;
+        }
+        return outboxOffsetRepository.findById(state.sink.name())
+                .map(OutboxOffset::getPosition)
+                .orElse(0L);
+    }
+
+    private int deliverBatch(SinkState state) {
+        final Integer delivered = transactionTemplate.execute(status -> {
+            final OutboxOffset offset = state.sink.isShared() ? lockOffset(state.sink.name()) : null;
+            final long position = offset == null ? state.position : offset.getPosition();
+            final List<OutboxEvent> batch = outboxMessageRepository.findSettled(position,
+                            Instant.now().minus(properties.settleTime()), PageRequest.ofSize(properties.batchSize()))
+                    .stream()
+                    .map(OutboxEvent::of)
+                    .toList();
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                state.sink.deliver(batch);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            final long last = batch.get(batch.size() - 1).id();
+            if (offset == null) {
+                state.position = last;
+            } else {
+                offset.setPosition(last);
+            }
+            state.delivered.increment(batch.size());
+            return batch.size();
+        });
+        return delivered == null ? 0 : delivered;
+    }
+
+    private OutboxOffset lockOffset(String sink) {
+        return outboxOffsetRepository.findForUpdate(sink)
+                .orElseGet(() -> outboxOffsetRepository.saveAndFlush(new OutboxOffset(sink, 0)));
+    }
+
+    private final class SinkState {
+
+        private final OutboxSink sink;
+        private final Counter delivered;
+        private final Counter failedBatches;
+        private int failures;
+        private Instant retryAt = Instant.MIN;
+        private volatile Long position;
+
+        SinkState(OutboxSink sink, MeterRegistry meterRegistry) {
+            this.sink = sink;
+            this.delivered = meterRegistry.counter("outbox.delivered", "sink", sink.name());
+            this.failedBatches = meterRegistry.counter("outbox.failures", "sink", sink.name());
+        }
+
+        void failed(Instant now) {
+            failedBatches.increment();
+            failures++;
+            final Duration backoff = properties.initialBackoff().multipliedBy(1L << Math.min(failures - 1, 20));
+            retryAt = now.plus(backoff.compareTo(properties.maxBackoff()) > 0 ? properties.maxBackoff() : backoff);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package hexlet.code.component.outbox;
+
+import hexlet.code.event.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of outbox messages. A batch is delivered in id order and counts as taken once {@code deliver}
+ * returns; if it throws, the same batch is offered again later, so delivery is at least once.
+ */
+public interface OutboxSink {
+
+    /**
+     * Key of the sink's offset. Renaming a sink makes it start over from the oldest message kept.
+     */
+    String name();
+
+    /**
+     * Whether instances sharing the database take turns delivering to the sink from one persisted offset. A sink
+     * inside the JVM isn't shared: every instance feeds its own from an offset kept in memory, starting at the
+     * newest message when the instance is ready.
+     */
+    default boolean isShared() {
+        return true;
+    }
+
+    void deliver(List<OutboxEvent> batch) throws Exception;
+}
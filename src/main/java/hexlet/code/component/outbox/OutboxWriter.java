@@ -0,0 +1,64 @@
+package hexlet.code.component.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.LabelChangedEvent;
+import hexlet.code.event.StatusChangedEvent;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.UserChangedEvent;
+import hexlet.code.model.OutboxMessage;
+import hexlet.code.repository.OutboxMessageRepository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+
+import static org.springframework.transaction.event.TransactionPhase.BEFORE_COMMIT;
+
+/**
+ * Turns task, label, status and user changes into outbox messages. They are written right before the publishing
+ * transaction commits, so a message is committed together with the change or not at all, and its id and time are
+ * taken at the end of the transaction however long it ran. That keeps the time from insert to commit short, which
+ * {@code outbox.settle-time} has to cover.
+ */
+public class OutboxWriter {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(OutboxMessageRepository outboxMessageRepository, ObjectMapper objectMapper) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @TransactionalEventListener(phase = BEFORE_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        write(Resource.TASKS, event.type(), event.id(), event.task());
+    }
+
+    @TransactionalEventListener(phase = BEFORE_COMMIT, fallbackExecution = true)
+    public void onLabelChanged(LabelChangedEvent event) {
+        write(Resource.LABELS, event.type(), event.id(), event.label());
+    }
+
+    @TransactionalEventListener(phase = BEFORE_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(StatusChangedEvent event) {
+        write(Resource.STATUSES, event.type(), event.id(), event.status());
+    }
+
+    @TransactionalEventListener(phase = BEFORE_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        write(Resource.USERS, event.type(), event.id(), event.user());
+    }
+
+    private void write(Resource aggregate, ChangeType type, long id, Object state) {
+        final String payload;
+        try {
+            payload = state == null ? null : objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't serialize " + aggregate + " " + id, e);
+        }
+        outboxMessageRepository.save(new OutboxMessage(null, aggregate, id, type, payload, Instant.now()));
+    }
+}
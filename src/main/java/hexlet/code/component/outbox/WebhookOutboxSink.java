@@ -0,0 +1,50 @@
+package hexlet.code.component.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.event.OutboxEvent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Posts each batch as one NDJSON body. Any response other than 2xx fails the batch.
+ */
+public class WebhookOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient client;
+    private final URI url;
+    private final Duration timeout;
+
+    public WebhookOutboxSink(ObjectMapper objectMapper, URI url, Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.url = url;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(List<OutboxEvent> batch) throws IOException, InterruptedException {
+        final HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(NdJson.write(objectMapper, batch)))
+                .build();
+        final int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status < 200 || status >= 300) {
+            throw new IOException("Webhook " + url + " answered " + status);
+        }
+    }
+}
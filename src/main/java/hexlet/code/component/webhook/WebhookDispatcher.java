@@ -0,0 +1,381 @@
+package hexlet.code.component.webhook;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.config.WebhookProperties;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.WebhookEvent;
+import hexlet.code.dto.WebhookSubscriptionDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.event.UserChangedEvent;
+import hexlet.code.event.WebhookEventType;
+import hexlet.code.event.WebhookSubscriptionChangedEvent;
+import hexlet.code.model.WebhookDeadLetter;
+import hexlet.code.repository.WebhookDeadLetterRepository;
+import hexlet.code.service.WebhookService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sends task changes to webhook subscriptions after commit. Events are only queued on the committing thread;
+ * requests go out through the non-blocking {@link HttpClient}, so no thread waits on a receiver. Whatever queued
+ * up while an endpoint's previous request was in flight goes out as one batch. A failed batch is retried with
+ * jittered exponential backoff without holding a global permit, and is dead-lettered once out of attempts.
+ * <p>
+ * Subscription changes made through this instance apply on commit. The endpoints are also reloaded from the table
+ * every {@code webhooks.refresh-interval-ms} and, off the committing thread, whenever a user is deleted, which
+ * drops subscriptions through the foreign key cascade without an event. Subscriptions created or deleted on
+ * another instance therefore take effect here within the refresh interval.
+ */
+public class WebhookDispatcher implements DisposableBean {
+
+    private static final String SUBSCRIPTION_HEADER = "X-Webhook-Subscription";
+
+    private final WebhookService webhookService;
+    private final WebhookDeadLetterRepository webhookDeadLetterRepository;
+    private final ObjectMapper objectMapper;
+    private final WebhookProperties properties;
+    private final HttpClient client;
+    private final ScheduledExecutorService scheduler;
+    private final Semaphore permits;
+    private final Map<Long, WebhookEndpoint> endpoints = new ConcurrentHashMap<>();
+    private final Map<Long, Long> removedAt = new ConcurrentHashMap<>();
+    private final Queue<WebhookEndpoint> waiting = new ConcurrentLinkedQueue<>();
+    private final Lock refreshLock = new ReentrantLock();
+    private final Timer delivered;
+    private final Timer failed;
+    private final Counter dropped;
+    private final Counter retried;
+    private final Counter deadLettered;
+
+    public WebhookDispatcher(WebhookService webhookService,
+                             WebhookDeadLetterRepository webhookDeadLetterRepository,
+                             ObjectMapper objectMapper,
+                             WebhookProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.webhookService = webhookService;
+        this.webhookDeadLetterRepository = webhookDeadLetterRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.client = HttpClient.newBuilder().connectTimeout(properties.timeout()).build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "webhook-retries");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.permits = new Semaphore(properties.maxInFlight());
+        this.delivered = meterRegistry.timer("webhook.delivery", "outcome", "success");
+        this.failed = meterRegistry.timer("webhook.delivery", "outcome", "failure");
+        this.dropped = meterRegistry.counter("webhook.events.dropped");
+        this.retried = meterRegistry.counter("webhook.retries");
+        this.deadLettered = meterRegistry.counter("webhook.dead-lettered");
+        Gauge.builder("webhook.queued", endpoints, queued -> queued.values().stream()
+                        .mapToInt(WebhookEndpoint::queued)
+                        .sum())
+                .register(meterRegistry);
+        Gauge.builder("webhook.endpoints", endpoints, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("webhook.in-flight", permits, free -> properties.maxInFlight() - free.availablePermits())
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    /**
+     * Brings the endpoints in line with the subscriptions table. Endpoints added and subscriptions deleted through
+     * events after the read started are newer than what was read, so they are left as they are.
+     */
+    @Scheduled(initialDelayString = "${webhooks.refresh-interval-ms:30000}",
+            fixedDelayString = "${webhooks.refresh-interval-ms:30000}")
+    public void refresh() {
+        // A lock rather than synchronized: the subscriptions are read while holding it, which would pin a virtual
+        // thread.
+        refreshLock.lock();
+        try {
+            final long started = System.nanoTime();
+            final Map<Long, WebhookSubscriptionDTO> subscriptions = new HashMap<>();
+            for (WebhookSubscriptionDTO subscription : webhookService.getAllSubscriptions()) {
+                subscriptions.put(subscription.id(), subscription);
+            }
+
+            subscriptions.forEach((id, subscription) -> {
+                final Long removed = removedAt.get(id);
+                if (removed == null || removed - started < 0) {
+                    put(subscription);
+                }
+            });
+            for (WebhookEndpoint endpoint : endpoints.values()) {
+                if (!subscriptions.containsKey(endpoint.id()) && endpoint.addedAt() - started < 0) {
+                    remove(endpoint.id());
+                }
+            }
+            removedAt.values().removeIf(removed -> removed - started < 0);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onSubscriptionChanged(WebhookSubscriptionChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            remove(event.id());
+        } else {
+            put(event.subscription());
+        }
+    }
+
+    /**
+     * Runs on the async executor, so deleting a user doesn't wait for the subscriptions to be reloaded.
+     */
+    @Async
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            refresh();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        final List<WebhookEventType> types = types(event);
+        final Instant now = Instant.now();
+        for (WebhookEndpoint endpoint : endpoints.values()) {
+            boolean queued = false;
+            for (WebhookEventType type : types) {
+                if (!endpoint.follows(type)) {
+                    continue;
+                }
+                if (endpoint.offer(new WebhookEvent(UUID.randomUUID(), type, event.id(), event.task(), now))) {
+                    queued = true;
+                } else {
+                    dropped.increment();
+                }
+            }
+            if (queued) {
+                drain(endpoint);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        endpoints.values().forEach(WebhookEndpoint::close);
+    }
+
+    private void put(WebhookSubscriptionDTO subscription) {
+        endpoints.compute(subscription.id(), (id, endpoint) -> {
+            if (endpoint == null) {
+                return new WebhookEndpoint(subscription, properties.queueCapacity());
+            }
+            endpoint.update(subscription);
+            return endpoint;
+        });
+    }
+
+    private void remove(long id) {
+        removedAt.put(id, System.nanoTime());
+        final WebhookEndpoint endpoint = endpoints.remove(id);
+        if (endpoint != null) {
+            endpoint.close();
+        }
+    }
+
+    private static List<WebhookEventType> types(TaskChangedEvent event) {
+        final List<WebhookEventType> types = new ArrayList<>();
+        switch (event.type()) {
+            case CREATED -> types.add(WebhookEventType.TASK_CREATED);
+            case DELETED -> types.add(WebhookEventType.TASK_DELETED);
+            default -> {
+                types.add(WebhookEventType.TASK_UPDATED);
+                final TaskDTO task = event.task();
+                final TaskDTO previous = event.previous();
+                if (task != null && previous != null) {
+                    if (!Objects.equals(statusId(task), statusId(previous))) {
+                        types.add(WebhookEventType.TASK_STATUS_CHANGED);
+                    }
+                    if (!Objects.equals(executorId(task), executorId(previous))) {
+                        types.add(WebhookEventType.TASK_REASSIGNED);
+                    }
+                }
+            }
+        }
+        return types;
+    }
+
+    private static Long statusId(TaskDTO task) {
+        return task.taskStatus() == null ? null : task.taskStatus().id();
+    }
+
+    private static Long executorId(TaskDTO task) {
+        return task.executor() == null ? null : task.executor().getId();
+    }
+
+    /**
+     * Starts as many batches as the endpoint's and the global limits allow. An endpoint that runs out of global
+     * permits waits in line and is drained again when another delivery returns its permit.
+     */
+    private void drain(WebhookEndpoint endpoint) {
+        while (!endpoint.isClosed() && endpoint.hasQueued()
+                && endpoint.tryStart(properties.maxInFlightPerEndpoint())) {
+            if (!permits.tryAcquire()) {
+                endpoint.finish();
+                if (endpoint.markWaiting()) {
+                    waiting.add(endpoint);
+                }
+                // A permit returned between the check and the enqueue would have found nobody waiting.
+                if (permits.availablePermits() > 0) {
+                    wakeWaiting();
+                }
+                return;
+            }
+
+            final List<WebhookEvent> batch = endpoint.poll(properties.maxBatchSize());
+            if (batch.isEmpty()) {
+                release(endpoint);
+                return;
+            }
+            send(endpoint, new Delivery(batch, serialize(batch), 1));
+        }
+    }
+
+    private void send(WebhookEndpoint endpoint, Delivery delivery) {
+        final HttpRequest request = HttpRequest.newBuilder(endpoint.url())
+                .timeout(properties.timeout())
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(SUBSCRIPTION_HEADER, Long.toString(endpoint.id()))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(delivery.body()))
+                .build();
+        final long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    final long elapsed = System.nanoTime() - start;
+                    if (error == null && response.statusCode() / 100 == 2) {
+                        delivered.record(elapsed, TimeUnit.NANOSECONDS);
+                        complete(endpoint);
+                        return;
+                    }
+                    failed.record(elapsed, TimeUnit.NANOSECONDS);
+                    final String reason = error == null ? "HTTP " + response.statusCode() : error.toString();
+                    retry(endpoint, delivery, reason);
+                });
+    }
+
+    private void retry(WebhookEndpoint endpoint, Delivery delivery, String reason) {
+        if (endpoint.isClosed()) {
+            complete(endpoint);
+            return;
+        }
+        if (delivery.attempt() >= properties.maxAttempts()) {
+            // Saved off the HTTP client's threads, as it blocks on the database.
+            scheduler.execute(() -> deadLetter(endpoint, delivery, reason));
+            complete(endpoint);
+            return;
+        }
+
+        retried.increment();
+        // The endpoint keeps its own slot, so later events wait behind the batch, but frees the global one.
+        permits.release();
+        wakeWaiting();
+        scheduler.schedule(() -> resend(endpoint, delivery.next()), backoff(delivery.attempt()).toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void resend(WebhookEndpoint endpoint, Delivery delivery) {
+        if (endpoint.isClosed()) {
+            endpoint.finish();
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            scheduler.schedule(() -> resend(endpoint, delivery), properties.initialBackoff().toMillis(),
+                    TimeUnit.MILLISECONDS);
+            return;
+        }
+        send(endpoint, delivery);
+    }
+
+    private void complete(WebhookEndpoint endpoint) {
+        release(endpoint);
+        drain(endpoint);
+        wakeWaiting();
+    }
+
+    private void release(WebhookEndpoint endpoint) {
+        endpoint.finish();
+        permits.release();
+    }
+
+    private void wakeWaiting() {
+        final WebhookEndpoint next = waiting.poll();
+        if (next != null) {
+            next.clearWaiting();
+            drain(next);
+        }
+    }
+
+    private void deadLetter(WebhookEndpoint endpoint, Delivery delivery, String reason) {
+        deadLettered.increment();
+        final String error = reason.length() > 1024 ? reason.substring(0, 1024) : reason;
+        webhookDeadLetterRepository.save(new WebhookDeadLetter(null, endpoint.id(),
+                new String(delivery.body(), StandardCharsets.UTF_8), error, delivery.attempt(), Instant.now()));
+    }
+
+    private Duration backoff(int attempt) {
+        final Duration backoff = properties.initialBackoff().multipliedBy(1L << Math.min(attempt - 1, 20));
+        final Duration capped = backoff.compareTo(properties.maxBackoff()) > 0 ? properties.maxBackoff() : backoff;
+        // Full delays from many endpoints failing together would come back together.
+        return Duration.ofMillis((long) (capped.toMillis() * ThreadLocalRandom.current().nextDouble(0.5, 1.0)));
+    }
+
+    private byte[] serialize(List<WebhookEvent> batch) {
+        try {
+            return objectMapper.writeValueAsBytes(batch);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't serialize a webhook batch", e);
+        }
+    }
+
+    private record Delivery(List<WebhookEvent> batch, byte[] body, int attempt) {
+
+        Delivery next() {
+            return new Delivery(batch, body, attempt + 1);
+        }
+    }
+}
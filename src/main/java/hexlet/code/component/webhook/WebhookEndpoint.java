@@ -0,0 +1,114 @@
+package hexlet.code.component.webhook;
+
+import hexlet.code.dto.WebhookEvent;
+import hexlet.code.dto.WebhookSubscriptionDTO;
+import hexlet.code.event.WebhookEventType;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivery state of one subscription: its own bounded queue and the number of its requests in flight, so a slow
+ * receiver only ever fills its own queue.
+ */
+final class WebhookEndpoint {
+
+    private final long id;
+    private final long addedAt = System.nanoTime();
+    private final BlockingQueue<WebhookEvent> queue;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean waiting = new AtomicBoolean();
+    private volatile URI url;
+    private volatile Set<WebhookEventType> events;
+    private volatile boolean closed;
+
+    WebhookEndpoint(WebhookSubscriptionDTO subscription, int queueCapacity) {
+        this.id = subscription.id();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        update(subscription);
+    }
+
+    void update(WebhookSubscriptionDTO subscription) {
+        this.url = URI.create(subscription.url());
+        this.events = Set.copyOf(subscription.events());
+    }
+
+    long id() {
+        return id;
+    }
+
+    /**
+     * {@link System#nanoTime()} of when the endpoint was added, to tell it apart from a table read started earlier.
+     */
+    long addedAt() {
+        return addedAt;
+    }
+
+    URI url() {
+        return url;
+    }
+
+    boolean follows(WebhookEventType type) {
+        return events.contains(type);
+    }
+
+    boolean offer(WebhookEvent event) {
+        return queue.offer(event);
+    }
+
+    boolean hasQueued() {
+        return !queue.isEmpty();
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    List<WebhookEvent> poll(int maxBatchSize) {
+        final List<WebhookEvent> batch = new ArrayList<>(Math.min(maxBatchSize, queue.size()));
+        queue.drainTo(batch, maxBatchSize);
+        return batch;
+    }
+
+    boolean tryStart(int maxInFlight) {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= maxInFlight) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void finish() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Marks the endpoint as waiting for a global permit, returning {@code false} when it already is.
+     */
+    boolean markWaiting() {
+        return waiting.compareAndSet(false, true);
+    }
+
+    void clearWaiting() {
+        waiting.set(false);
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+        queue.clear();
+    }
+}
@@ -0,0 +1,52 @@
+package hexlet.code.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hexlet.code.utils.NamedRoutes;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(name = "concurrency-limit.enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Runs ahead of Spring Security, so shed requests don't pay for token verification either. On virtual
+     * threads the upper bounds are capped at {@code threads.virtual.requests-per-connection} requests per pooled
+     * connection, past that requests would only wait for a connection. Reactive streams are bounded by their own
+     * connection pool instead, and event streams stay open for as long as clients keep them. Task exports stream
+     * for as long as the result takes to write, so their duration would read as a latency spike and shrink the
+     * read limit for every other GET.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${base-url}") String baseUrl,
+            ConcurrencyLimitProperties properties,
+            MeterRegistry meterRegistry,
+            ObjectProvider<HikariDataSource> dataSource,
+            @Value("${threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${threads.virtual.requests-per-connection:4}") int requestsPerConnection) {
+        final HikariDataSource pool = dataSource.getIfAvailable();
+        final ConcurrencyLimitProperties limits = virtualThreads && pool != null
+                ? properties.withMaximum(pool.getMaximumPoolSize() * requestsPerConnection)
+                : properties;
+        final List<String> exempt = List.of(
+                baseUrl + NamedRoutes.REACTIVE_PATH + "/",
+                baseUrl + NamedRoutes.EVENTS_PATH,
+                baseUrl + NamedRoutes.TASKS_PATH + "/export");
+        final FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limits, meterRegistry, exempt));
+        registration.addUrlPatterns(baseUrl + "/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
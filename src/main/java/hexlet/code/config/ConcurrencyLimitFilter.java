@@ -0,0 +1,135 @@
+package hexlet.code.config;
+
+import hexlet.code.component.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rejects API requests with 503 once the adaptive in-flight limit for their kind is reached, before they take
+ * a thread's worth of work or a database connection. Reads and writes are limited separately, so a burst of
+ * one can't starve the other. An async request holds its slot until it completes, except for the streaming
+ * paths given as exempt: they hold no thread while waiting and their duration says nothing about the load.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of(
+            HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+
+    private final AdaptiveConcurrencyLimit reads;
+    private final AdaptiveConcurrencyLimit writes;
+    private final Counter rejectedReads;
+    private final Counter rejectedWrites;
+    private final List<String> exemptPrefixes;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties,
+                                  MeterRegistry meterRegistry,
+                                  List<String> exemptPrefixes) {
+        this.exemptPrefixes = List.copyOf(exemptPrefixes);
+        this.reads = limit(properties.read());
+        this.writes = limit(properties.write());
+        this.rejectedReads = register(meterRegistry, "read", reads);
+        this.rejectedWrites = register(meterRegistry, "write", writes);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        return exemptPrefixes.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final boolean read = READ_METHODS.contains(request.getMethod());
+        final AdaptiveConcurrencyLimit limit = read ? reads : writes;
+        final int inFlight = limit.tryAcquire();
+        if (inFlight == 0) {
+            (read ? rejectedReads : rejectedWrites).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is busy, try again later");
+            return;
+        }
+
+        final Release release = new Release(limit, inFlight, System.nanoTime());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(release);
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private static AdaptiveConcurrencyLimit limit(ConcurrencyLimitProperties.Limit limit) {
+        return new AdaptiveConcurrencyLimit(limit.initial(), limit.min(), limit.max());
+    }
+
+    private static Counter register(MeterRegistry meterRegistry, String type, AdaptiveConcurrencyLimit limit) {
+        Gauge.builder("http.server.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("type", type)
+                .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("type", type)
+                .register(meterRegistry);
+        return meterRegistry.counter("http.server.concurrency.rejected", "type", type);
+    }
+
+    private static final class Release implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimit limit;
+        private final int inFlight;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Release(AdaptiveConcurrencyLimit limit, int inFlight, long start) {
+            this.limit = limit;
+            this.inFlight = inFlight;
+            this.start = start;
+        }
+
+        void run() {
+            if (released.compareAndSet(false, true)) {
+                limit.release(System.nanoTime() - start, inFlight);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
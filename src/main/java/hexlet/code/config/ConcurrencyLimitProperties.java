@@ -0,0 +1,27 @@
+package hexlet.code.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Bounds of the adaptive in-flight limits on the API, one for reads and one for writes.
+ */
+@ConfigurationProperties(prefix = "concurrency-limit")
+public record ConcurrencyLimitProperties(@DefaultValue("true") boolean enabled,
+                                         @DefaultValue Limit read,
+                                         @DefaultValue Limit write) {
+
+    public ConcurrencyLimitProperties withMaximum(int max) {
+        return new ConcurrencyLimitProperties(enabled, read.withMaximum(max), write.withMaximum(max));
+    }
+
+    public record Limit(@DefaultValue("50") int initial,
+                        @DefaultValue("5") int min,
+                        @DefaultValue("200") int max) {
+
+        Limit withMaximum(int cap) {
+            final int capped = Math.max(min, Math.min(max, cap));
+            return new Limit(Math.min(initial, capped), min, capped);
+        }
+    }
+}
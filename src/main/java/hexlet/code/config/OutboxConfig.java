@@ -0,0 +1,61 @@
+package hexlet.code.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.outbox.ApplicationEventOutboxSink;
+import hexlet.code.component.outbox.FileOutboxSink;
+import hexlet.code.component.outbox.OutboxRelay;
+import hexlet.code.component.outbox.OutboxSink;
+import hexlet.code.component.outbox.OutboxWriter;
+import hexlet.code.component.outbox.WebhookOutboxSink;
+import hexlet.code.repository.OutboxMessageRepository;
+import hexlet.code.repository.OutboxOffsetRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+@ConditionalOnProperty(name = "outbox.enabled", matchIfMissing = true)
+public class OutboxConfig {
+
+    @Bean
+    public OutboxWriter outboxWriter(OutboxMessageRepository outboxMessageRepository, ObjectMapper objectMapper) {
+        return new OutboxWriter(outboxMessageRepository, objectMapper);
+    }
+
+    @Bean
+    public ApplicationEventOutboxSink applicationEventOutboxSink(ApplicationEventPublisher eventPublisher) {
+        return new ApplicationEventOutboxSink(eventPublisher);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.sinks.file.enabled")
+    public FileOutboxSink fileOutboxSink(ObjectMapper objectMapper, OutboxProperties properties) {
+        return new FileOutboxSink(objectMapper, properties.sinks().file().path());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.sinks.webhook.enabled")
+    public WebhookOutboxSink webhookOutboxSink(ObjectMapper objectMapper, OutboxProperties properties) {
+        final OutboxProperties.WebhookSink webhook = properties.sinks().webhook();
+        return new WebhookOutboxSink(objectMapper, webhook.url(), webhook.timeout());
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(List<OutboxSink> sinks,
+                                   OutboxMessageRepository outboxMessageRepository,
+                                   OutboxOffsetRepository outboxOffsetRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   OutboxProperties properties,
+                                   MeterRegistry meterRegistry) {
+        return new OutboxRelay(sinks, outboxMessageRepository, outboxOffsetRepository,
+                new TransactionTemplate(transactionManager), properties, meterRegistry);
+    }
+}
@@ -0,0 +1,39 @@
+package hexlet.code.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Relay of the outbox to its sinks. Messages are handed out once older than {@code settleTime}, so one that
+ * commits after a message with a higher id isn't skipped. That only holds while every message commits within
+ * {@code settleTime} of being written: one that takes longer is behind the offset once it becomes visible and is
+ * never delivered. Messages are written right before commit to keep that time short, {@code settleTime} has to
+ * cover the slowest commit rather than the slowest transaction. A failing sink is retried after {@code initialBackoff},
+ * doubled on every further failure up to {@code maxBackoff}. Messages every sink has taken are deleted once
+ * older than {@code retention}.
+ */
+@ConfigurationProperties(prefix = "outbox")
+public record OutboxProperties(@DefaultValue("true") boolean enabled,
+                               @DefaultValue("100") int batchSize,
+                               @DefaultValue("1s") Duration settleTime,
+                               @DefaultValue("1s") Duration initialBackoff,
+                               @DefaultValue("5m") Duration maxBackoff,
+                               @DefaultValue("1d") Duration retention,
+                               @DefaultValue Sinks sinks) {
+
+    public record Sinks(@DefaultValue FileSink file, @DefaultValue WebhookSink webhook) {
+    }
+
+    public record FileSink(@DefaultValue("false") boolean enabled,
+                           @DefaultValue("outbox.ndjson") Path path) {
+    }
+
+    public record WebhookSink(@DefaultValue("false") boolean enabled,
+                              URI url,
+                              @DefaultValue("10s") Duration timeout) {
+    }
+}
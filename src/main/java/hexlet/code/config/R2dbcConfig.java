@@ -0,0 +1,77 @@
+package hexlet.code.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class R2dbcConfig {
+
+    private static final String JDBC = "jdbc:";
+    private static final String JDBC_H2 = JDBC + "h2:";
+
+    /**
+     * The JDBC pool JPA and Liquibase run on, built from {@code spring.datasource.*} as Spring Boot would. It has to
+     * be declared here: Boot's own DataSource configuration backs off as soon as there is a {@link ConnectionFactory}
+     * bean, which the pool below is.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        final HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        if (StringUtils.hasText(properties.getName())) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+
+    /**
+     * Reactive connections to the same database the JDBC pool points at, so there is one set of connection
+     * settings per environment. H2 is opened through its own factory, which shares in-memory and file databases
+     * with the JDBC driver of the same JVM; for any other database the JDBC url is reused with the r2dbc scheme.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(HikariDataSource dataSource,
+                                            @Value("${reactive.pool.max-size:10}") int maxSize) {
+        final String jdbcUrl = dataSource.getJdbcUrl();
+        final ConnectionFactory connectionFactory;
+        if (jdbcUrl.startsWith(JDBC_H2)) {
+            connectionFactory = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+                    .url(jdbcUrl.substring(JDBC_H2.length()))
+                    .username(dataSource.getUsername())
+                    .password(dataSource.getPassword())
+                    .build());
+        } else {
+            final String r2dbcUrl = "r2dbc:" + jdbcUrl.substring(JDBC.length());
+            connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(r2dbcUrl)
+                    .mutate()
+                    .option(ConnectionFactoryOptions.USER, dataSource.getUsername())
+                    .option(ConnectionFactoryOptions.PASSWORD, dataSource.getPassword())
+                    .build());
+        }
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .maxSize(maxSize)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
@@ -0,0 +1,27 @@
+package hexlet.code.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.webhook.WebhookDispatcher;
+import hexlet.code.repository.WebhookDeadLetterRepository;
+import hexlet.code.service.WebhookService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(WebhookProperties.class)
+@ConditionalOnProperty(name = "webhooks.enabled", matchIfMissing = true)
+public class WebhookConfig {
+
+    @Bean
+    public WebhookDispatcher webhookDispatcher(WebhookService webhookService,
+                                               WebhookDeadLetterRepository webhookDeadLetterRepository,
+                                               ObjectMapper objectMapper,
+                                               WebhookProperties properties,
+                                               MeterRegistry meterRegistry) {
+        return new WebhookDispatcher(webhookService, webhookDeadLetterRepository, objectMapper, properties,
+                meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package hexlet.code.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limits of webhook delivery. Each subscription queues up to {@code queueCapacity} events and sends at most
+ * {@code maxInFlightPerEndpoint} requests at a time, all of them together at most {@code maxInFlight}. A failed
+ * batch is retried after {@code initialBackoff}, doubled per attempt up to {@code maxBackoff}, and dead-lettered
+ * after {@code maxAttempts}.
+ */
+@ConfigurationProperties(prefix = "webhooks")
+public record WebhookProperties(@DefaultValue("true") boolean enabled,
+                                @DefaultValue("1000") int queueCapacity,
+                                @DefaultValue("100") int maxBatchSize,
+                                @DefaultValue("64") int maxInFlight,
+                                @DefaultValue("1") int maxInFlightPerEndpoint,
+                                @DefaultValue("10s") Duration timeout,
+                                @DefaultValue("8") int maxAttempts,
+                                @DefaultValue("1s") Duration initialBackoff,
+                                @DefaultValue("10m") Duration maxBackoff) {
+}
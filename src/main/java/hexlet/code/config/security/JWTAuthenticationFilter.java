@@ -3,6 +3,7 @@ package hexlet.code.config.security;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hexlet.code.component.JWTHelper;
 import hexlet.code.dto.LogInDTO;
+import hexlet.code.exception.ServiceOverloadedException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -11,12 +12,10 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import java.io.IOException;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
@@ -42,7 +41,17 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
                 loginData.password()
         );
         setDetails(request, authRequest);
-        return getAuthenticationManager().authenticate(authRequest);
+        try {
+            return getAuthenticationManager().authenticate(authRequest);
+        } catch (ServiceOverloadedException e) {
+            rejectOverloaded(response, e);
+            return null;
+        }
+    }
+
+    private static void rejectOverloaded(final HttpServletResponse response, final ServiceOverloadedException e) {
+        e.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setStatus(e.getStatusCode().value());
     }
 
     private LogInDTO getLoginData(final HttpServletRequest request) throws AuthenticationException {
@@ -61,8 +70,8 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
                                             final HttpServletResponse response,
                                             final FilterChain chain,
                                             final Authentication authResult) throws IOException {
-        final UserDetails user = (UserDetails) authResult.getPrincipal();
-        final String token = jwtHelper.expiring(Map.of(SPRING_SECURITY_FORM_USERNAME_KEY, user.getUsername()));
+        final UserPrincipal user = (UserPrincipal) authResult.getPrincipal();
+        final String token = jwtHelper.expiring(user.toClaims());
 
         response.getWriter().println(token);
     }
@@ -1,6 +1,7 @@
 package hexlet.code.config.security;
 
-import hexlet.code.component.JWTHelper;
+import hexlet.code.component.TokenRevocationList;
+import hexlet.code.component.VerifiedTokenCache;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.util.matcher.RequestMatcher;
@@ -11,23 +12,26 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Optional;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 import static hexlet.code.config.security.SecurityConfig.DEFAULT_AUTHORITIES;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
-import static org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.SPRING_SECURITY_FORM_USERNAME_KEY;
 
 public class JWTAuthorizationFilter extends OncePerRequestFilter {
 
     private static final String BEARER = "Bearer";
 
     private final RequestMatcher publicUrls;
-    private final JWTHelper jwtHelper;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList tokenRevocationList;
 
     public JWTAuthorizationFilter(final RequestMatcher publicUrls,
-                                  final JWTHelper jwtHelper) {
+                                  final VerifiedTokenCache verifiedTokenCache,
+                                  final TokenRevocationList tokenRevocationList) {
         this.publicUrls = publicUrls;
-        this.jwtHelper = jwtHelper;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     @Override
@@ -40,25 +44,38 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
                                     final HttpServletResponse response,
                                     final FilterChain filterChain) throws ServletException, IOException {
 
-        final var authToken = Optional.ofNullable(request.getHeader(AUTHORIZATION))
-                .map(header -> header.replaceFirst("^" + BEARER, ""))
-                .map(String::trim)
-                .map(jwtHelper::verify)
-                .map(claims -> claims.get(SPRING_SECURITY_FORM_USERNAME_KEY))
-                .map(Object::toString)
-                .map(this::buildAuthToken)
-                .orElseThrow();
+        final String header = request.getHeader(AUTHORIZATION);
+        if (header == null) {
+            throw new NoSuchElementException("No value present");
+        }
 
+        // Same as stripping a leading "Bearer" and trimming, without copying the header.
+        int start = header.startsWith(BEARER) ? BEARER.length() : 0;
+        int end = header.length();
+        while (start < end && header.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && header.charAt(end - 1) <= ' ') {
+            end--;
+        }
 
-        SecurityContextHolder.getContext().setAuthentication(authToken);
+        final Map<String, Object> claims = verifiedTokenCache.verify(header, start, end);
+        if (tokenRevocationList.isRevoked(claims)) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token has been revoked");
+            return;
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(buildAuthToken(claims));
         filterChain.doFilter(request, response);
     }
 
-    private UsernamePasswordAuthenticationToken buildAuthToken(final String username) {
-        return new UsernamePasswordAuthenticationToken(
-                username,
+    private UsernamePasswordAuthenticationToken buildAuthToken(final Map<String, Object> claims) {
+        final UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                UserPrincipal.fromClaims(claims),
                 null,
                 DEFAULT_AUTHORITIES
         );
+        authToken.setDetails(TokenDetails.fromClaims(claims));
+        return authToken;
     }
 }
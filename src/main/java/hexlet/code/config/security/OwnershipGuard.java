@@ -0,0 +1,109 @@
+package hexlet.code.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.OutboxEvent;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Ownership checks for {@code @PreAuthorize}. A check reads the author id of the task by primary key instead of
+ * loading the task, so the service's own load stays the only one. The author of a task never changes, which lets
+ * the answer be kept for {@code security.ownership.ttl} and dropped when the task is deleted, here or, once the outbox
+ * relays it, on another instance.
+ */
+@Component
+public class OwnershipGuard {
+
+    public static final String CACHE_NAME = "task.authors";
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final Cache<Long, Long> taskAuthors;
+
+    public OwnershipGuard(TaskRepository taskRepository,
+                          UserRepository userRepository,
+                          @Value("${security.ownership.maximum-size:10000}") long maximumSize,
+                          @Value("${security.ownership.ttl:1m}") Duration ttl,
+                          MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.taskAuthors = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, taskAuthors, CACHE_NAME);
+    }
+
+    /**
+     * Fails with {@link java.util.NoSuchElementException} when there is no such task, like loading it would.
+     */
+    public boolean isTaskAuthor(long taskId, Authentication authentication) {
+        Long authorId = taskAuthors.getIfPresent(taskId);
+        if (authorId == null) {
+            authorId = taskRepository.findAuthorIdById(taskId).orElseThrow();
+            taskAuthors.put(taskId, authorId);
+        }
+        return currentUserId(authentication).filter(authorId::equals).isPresent();
+    }
+
+    /**
+     * Fails with {@link NoSuchElementException} when there is no such user, so a missing user stays a 404 rather
+     * than a 403. Only a foreign id costs the lookup, the caller's own id needs none.
+     */
+    public boolean isUser(long userId, Authentication authentication) {
+        if (currentUserId(authentication).filter(id -> id == userId).isPresent()) {
+            return true;
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchElementException("User with id " + userId + " not found");
+        }
+        return false;
+    }
+
+    public void invalidateAll() {
+        taskAuthors.invalidateAll();
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            taskAuthors.invalidate(event.id());
+        }
+    }
+
+    @EventListener
+    public void onOutboxEvent(OutboxEvent event) {
+        if (event.aggregate() == Resource.TASKS && event.type() == ChangeType.DELETED) {
+            taskAuthors.invalidate(event.aggregateId());
+        }
+    }
+
+    /**
+     * Tokens issued before the id claim existed only name the user, so their id is looked up by email.
+     */
+    private Optional<Long> currentUserId(Authentication authentication) {
+        if (authentication == null) {
+            return Optional.empty();
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal user && user.getId() != null) {
+            return Optional.of(user.getId());
+        }
+        return userRepository.findIdByEmail(authentication.getName());
+    }
+}
@@ -0,0 +1,106 @@
+package hexlet.code.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hexlet.code.component.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles requests with a token bucket per client and route group. Authenticated requests are counted per
+ * user, anonymous ones per remote address. Buckets sit in a bounded cache and are dropped once idle.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String CACHE_NAME = "rate.limit.buckets";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, RouteGroup> routeGroups = new LinkedHashMap<>();
+    private final Cache<String, TokenBucket> buckets;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        final Duration idleTimeout = properties.groups().values().stream()
+                .map(RateLimitProperties.Limit::refillTime)
+                .reduce(properties.idleTimeout(), (left, right) -> left.compareTo(right) >= 0 ? left : right);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maximumBuckets())
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, CACHE_NAME);
+    }
+
+    /**
+     * Adds a route group; the first group matching a request applies. Groups without a configured limit are
+     * skipped.
+     */
+    public RateLimitFilter route(String name, RequestMatcher matcher) {
+        final RateLimitProperties.Limit limit = properties.groups().get(name);
+        if (limit != null) {
+            routeGroups.put(name, new RouteGroup(name, matcher, limit,
+                    meterRegistry.counter("http.server.requests.throttled", "group", name)));
+        }
+        return this;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final RouteGroup group = routeGroups.values().stream()
+                .filter(candidate -> candidate.matcher().matches(request))
+                .findFirst()
+                .orElse(null);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final long now = System.nanoTime();
+        final TokenBucket bucket = buckets.get(group.name() + ':' + client(request), key ->
+                new TokenBucket(group.limit().capacity(), group.limit().refillPerSecond(), now));
+        final long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        group.throttled().increment();
+        final long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + NANOS_PER_SECOND - 1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests, try again later");
+    }
+
+    private static String client(HttpServletRequest request) {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal user) {
+            return user.getId() == null ? "user:" + user.getEmail() : "user:" + user.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private record RouteGroup(String name, RequestMatcher matcher, RateLimitProperties.Limit limit, Counter throttled) {
+    }
+}
@@ -0,0 +1,31 @@
+package hexlet.code.config.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Token bucket limits per route group. A group without a limit isn't throttled.
+ *
+ * @param idleTimeout how long an untouched bucket is kept; it never drops below the time the bucket needs to
+ *                    refill, so an evicted bucket would have been full anyway
+ */
+@ConfigurationProperties(prefix = "rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("10m") Duration idleTimeout,
+                                  @DefaultValue("100000") long maximumBuckets,
+                                  Map<String, Limit> groups) {
+
+    public RateLimitProperties {
+        groups = groups == null ? Map.of() : Map.copyOf(groups);
+    }
+
+    public record Limit(long capacity, double refillPerSecond) {
+
+        Duration refillTime() {
+            return Duration.ofMillis((long) Math.ceil(capacity * 1000 / refillPerSecond));
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package hexlet.code.config.security;
 
 import hexlet.code.component.JWTHelper;
+import hexlet.code.component.TokenRevocationList;
+import hexlet.code.component.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import java.time.Duration;
 import java.util.List;
 
 import hexlet.code.utils.NamedRoutes;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -33,41 +39,59 @@ import static org.springframework.http.HttpMethod.POST;
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     public static final String LOGIN = "/login";
     public static final List<GrantedAuthority> DEFAULT_AUTHORITIES = List.of(new SimpleGrantedAuthority("USER"));
     private final UserDetailsService userDetailsService;
     private final JWTHelper jwtHelper;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList tokenRevocationList;
     private final String baseUrl;
     private final RequestMatcher loginRequest;
+    private final RequestMatcher registrationRequest;
     private final RequestMatcher publicUrls;
 
     public SecurityConfig(@Value("${base-url}") final String baseUrl,
                           final UserDetailsService userDetailsService,
-                          final JWTHelper jwtHelper) {
+                          final JWTHelper jwtHelper,
+                          final VerifiedTokenCache verifiedTokenCache,
+                          final TokenRevocationList tokenRevocationList) {
         this.baseUrl = baseUrl;
         this.userDetailsService = userDetailsService;
         this.jwtHelper = jwtHelper;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationList = tokenRevocationList;
         this.loginRequest = new AntPathRequestMatcher(baseUrl + LOGIN, POST.toString());
+        this.registrationRequest = new AntPathRequestMatcher(baseUrl + NamedRoutes.usersPath(), POST.toString());
         this.publicUrls = new OrRequestMatcher(
                 loginRequest,
-                new AntPathRequestMatcher(baseUrl + NamedRoutes.usersPath(), POST.toString()),
+                registrationRequest,
                 new AntPathRequestMatcher(baseUrl + NamedRoutes.usersPath(), GET.toString()),
                 new NegatedRequestMatcher(new AntPathRequestMatcher(baseUrl + "/**"))
         );
     }
 
+    /**
+     * BCrypt runs on its own bounded pool unless {@code security.password-hashing.enabled} is off.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${security.password-hashing.enabled:true}") boolean bounded,
+            @Value("${security.password-hashing.threads:2}") int threads,
+            @Value("${security.password-hashing.queue-capacity:32}") int queueCapacity,
+            @Value("${security.password-hashing.max-wait:2s}") Duration maxWait) {
+        final PasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        return bounded ? new BoundedPasswordEncoder(bcrypt, threads, queueCapacity, maxWait, meterRegistry) : bcrypt;
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -77,12 +101,25 @@ public class SecurityConfig {
     }
 
 
+    /**
+     * Login and registration are limited per remote address, the rest of the API per user.
+     */
+    private RateLimitFilter rateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new RateLimitFilter(properties, meterRegistry)
+                .route("login", loginRequest)
+                .route("registration", registrationRequest)
+                .route("api", new AntPathRequestMatcher(baseUrl + "/**"));
+    }
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        return http
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   RateLimitProperties rateLimitProperties,
+                                                   MeterRegistry meterRegistry) throws Exception {
+        http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth.
-                        requestMatchers(publicUrls).permitAll()
+                        dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers(publicUrls).permitAll()
                         .anyRequest().authenticated())
                 .addFilter(new JWTAuthenticationFilter(
                         authenticationManager(http.getSharedObject(AuthenticationConfiguration.class)),
@@ -90,14 +127,22 @@ public class SecurityConfig {
                         jwtHelper
                 ))
                 .addFilterBefore(
-                        new JWTAuthorizationFilter(publicUrls, jwtHelper),
+                        new JWTAuthorizationFilter(publicUrls, verifiedTokenCache, tokenRevocationList),
                         UsernamePasswordAuthenticationFilter.class
                 )
                 .formLogin(AbstractHttpConfigurer::disable)
                 .sessionManagement(AbstractHttpConfigurer::disable)
                 .logout(AbstractHttpConfigurer::disable)
                 .headers(headers -> headers
-                        .frameOptions(HeadersConfigurer.FrameOptionsConfig::sameOrigin))
-                .build();
+                        .frameOptions(HeadersConfigurer.FrameOptionsConfig::sameOrigin));
+        // Shares the JWT authorization filter's slot and sorts after it, so per-user limits see the
+        // authenticated user while POST /login is still throttled before JWTAuthenticationFilter handles it.
+        if (rateLimitProperties.enabled()) {
+            http.addFilterBefore(
+                    rateLimitFilter(rateLimitProperties, meterRegistry),
+                    UsernamePasswordAuthenticationFilter.class
+            );
+        }
+        return http.build();
     }
 }
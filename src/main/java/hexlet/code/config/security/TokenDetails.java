@@ -0,0 +1,20 @@
+package hexlet.code.config.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Id and expiry of the token a request was authenticated with, kept as the authentication details so the token
+ * can be revoked later. Both are {@code null} for tokens issued without them.
+ */
+public record TokenDetails(String id, Instant expiresAt) {
+
+    public static TokenDetails fromClaims(Map<String, Object> claims) {
+        final Object id = claims.get(Claims.ID);
+        final Object expiration = claims.get(Claims.EXPIRATION);
+        return new TokenDetails(id == null ? null : id.toString(),
+                expiration == null ? null : Instant.ofEpochSecond(((Number) expiration).longValue()));
+    }
+}
@@ -1,6 +1,5 @@
 package hexlet.code.config.security;
 
-import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -8,8 +7,6 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import static hexlet.code.config.security.SecurityConfig.DEFAULT_AUTHORITIES;
-
 @Service
 @RequiredArgsConstructor
 public class UserDetailService implements UserDetailsService {
@@ -18,16 +15,8 @@ public class UserDetailService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(final String email) throws UsernameNotFoundException {
-        return userRepository.findByEmail(email)
-                   .map(this::buildSpringUser)
+        return userRepository.findCredentialsByEmail(email)
+                   .map(UserPrincipal::of)
                    .orElseThrow(() -> new UsernameNotFoundException("Not found user with 'email': " + email));
     }
-
-    private UserDetails buildSpringUser(final User user) {
-        return new org.springframework.security.core.userdetails.User(
-            user.getEmail(),
-            user.getPassword(),
-            DEFAULT_AUTHORITIES
-        );
-    }
 }
@@ -0,0 +1,108 @@
+package hexlet.code.config.security;
+
+import hexlet.code.dto.UserCredentials;
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static hexlet.code.config.security.SecurityConfig.DEFAULT_AUTHORITIES;
+import static org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.SPRING_SECURITY_FORM_USERNAME_KEY;
+
+/**
+ * Authenticated user. Built from the credential projection on login and from the token claims on every other
+ * request, so the id and display fields are known without a database lookup. Tokens issued before the id claim
+ * existed give a principal without an id.
+ */
+@Getter
+public final class UserPrincipal implements UserDetails, CredentialsContainer {
+
+    public static final String ID_CLAIM = "id";
+    public static final String FIRST_NAME_CLAIM = "firstName";
+    public static final String LAST_NAME_CLAIM = "lastName";
+
+    private final Long id;
+    private final String email;
+    private final String firstName;
+    private final String lastName;
+    private String password;
+
+    public UserPrincipal(Long id, String email, String firstName, String lastName, String password) {
+        this.id = id;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.password = password;
+    }
+
+    public static UserPrincipal of(UserCredentials credentials) {
+        return new UserPrincipal(credentials.id(), credentials.email(), credentials.firstName(),
+                credentials.lastName(), credentials.password());
+    }
+
+    public static UserPrincipal fromClaims(Map<String, Object> claims) {
+        final Object email = claims.get(SPRING_SECURITY_FORM_USERNAME_KEY);
+        if (email == null) {
+            throw new NoSuchElementException("No value present");
+        }
+
+        final Object id = claims.get(ID_CLAIM);
+        return new UserPrincipal(id == null ? null : ((Number) id).longValue(), email.toString(),
+                (String) claims.get(FIRST_NAME_CLAIM), (String) claims.get(LAST_NAME_CLAIM), null);
+    }
+
+    public Map<String, Object> toClaims() {
+        final Map<String, Object> claims = new HashMap<>();
+        claims.put(SPRING_SECURITY_FORM_USERNAME_KEY, email);
+        claims.put(ID_CLAIM, id);
+        claims.put(FIRST_NAME_CLAIM, firstName);
+        claims.put(LAST_NAME_CLAIM, lastName);
+        claims.values().removeIf(value -> value == null);
+        return claims;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return DEFAULT_AUTHORITIES;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
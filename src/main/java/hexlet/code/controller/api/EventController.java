@@ -0,0 +1,36 @@
+package hexlet.code.controller.api;
+
+import hexlet.code.component.ChangeFeed;
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.dto.ChangeNotice;
+import hexlet.code.utils.NamedRoutes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.Set;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("${base-url}" + NamedRoutes.EVENTS_PATH)
+public class EventController {
+
+    private final ChangeFeed changeFeed;
+
+    @Operation(summary = "Subscribe to committed changes of tasks, labels, statuses and users")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Change notices are streamed as Server-Sent Events"),
+        @ApiResponse(responseCode = "400", description = "Unknown resource")})
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    Flux<ServerSentEvent<ChangeNotice>> subscribe(@RequestParam(required = false) Set<Resource> resources) {
+        return changeFeed.subscribe(resources);
+    }
+}
@@ -1,5 +1,6 @@
 package hexlet.code.controller.api;
 
+import hexlet.code.component.ResourceVersions;
 import hexlet.code.dto.LabelDTO;
 import hexlet.code.model.Label;
 import hexlet.code.service.LabelService;
@@ -21,9 +22,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
+
+import static hexlet.code.component.ResourceVersions.Resource.LABELS;
 
 @RestController
 @AllArgsConstructor
@@ -31,6 +34,7 @@ import java.util.stream.Collectors;
 public class LabelController {
 
     private final LabelService labelService;
+    private final ResourceVersions resourceVersions;
 
     @Operation(summary = "Create new label")
     @ApiResponses(value = {
@@ -47,11 +51,11 @@ public class LabelController {
     @ApiResponse(responseCode = "200", description = "All labels are found",
             content = @Content(schema = @Schema(implementation = Label.class)))
     @GetMapping
-    List<LabelDTO> findAllLabels() {
-        return labelService.getAllLabels()
-                .stream()
-                .map(LabelDTO::toLabelDTO)
-                .collect(Collectors.toList());
+    List<LabelDTO> findAllLabels(WebRequest request) {
+        if (request.checkNotModified(resourceVersions.eTag("labels", LABELS))) {
+            return null;
+        }
+        return labelService.getAllLabels();
     }
 
     @Operation(summary = "Get label by id")
@@ -61,7 +65,10 @@ public class LabelController {
                             schema = @Schema(implementation = Label.class))}),
         @ApiResponse(responseCode = "404", description = "No such label found", content = @Content)})
     @GetMapping(path = "/{id}")
-    LabelDTO findLabelById(@PathVariable long id) {
+    LabelDTO findLabelById(@PathVariable long id, WebRequest request) {
+        if (request.checkNotModified(resourceVersions.eTag("label" + id, LABELS))) {
+            return null;
+        }
         return LabelDTO.toLabelDTO(labelService.getLabelById(id));
     }
 
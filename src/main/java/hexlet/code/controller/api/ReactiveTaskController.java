@@ -0,0 +1,48 @@
+package hexlet.code.controller.api;
+
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskListParams;
+import hexlet.code.repository.ReactiveTaskRepository;
+import hexlet.code.utils.NamedRoutes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("${base-url}" + NamedRoutes.REACTIVE_PATH + NamedRoutes.TASKS_PATH)
+public class ReactiveTaskController {
+
+    private final ReactiveTaskRepository reactiveTaskRepository;
+
+    /**
+     * Streams tasks one JSON document per line while the client keeps reading; the next rows are fetched only
+     * when the previous ones are written, so a slow client holds back the query instead of filling the heap.
+     */
+    @Operation(summary = "Stream tasks matching the filters as NDJSON")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tasks are streamed in id order"),
+        @ApiResponse(responseCode = "400", description = "The limit is not positive")})
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    Flux<TaskDTO> streamTasks(TaskListParams params,
+                              @RequestParam(required = false) String name,
+                              @RequestParam(required = false) String description) {
+        final Flux<TaskDTO> tasks = reactiveTaskRepository.findAll(params.filter(), name, description);
+        if (params.limit() == null) {
+            return tasks;
+        }
+        if (params.limit() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parameter 'limit' must be positive");
+        }
+        return tasks.take(params.limit(), true);
+    }
+}
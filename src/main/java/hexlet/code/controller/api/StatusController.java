@@ -1,5 +1,6 @@
 package hexlet.code.controller.api;
 
+import hexlet.code.component.ResourceVersions;
 import hexlet.code.dto.TaskStatusDTO;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.service.StatusService;
@@ -21,9 +22,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
+
+import static hexlet.code.component.ResourceVersions.Resource.STATUSES;
 
 @RestController
 @AllArgsConstructor
@@ -31,6 +34,7 @@ import java.util.stream.Collectors;
 public class StatusController {
 
     private final StatusService statusService;
+    private final ResourceVersions resourceVersions;
 
     @Operation(summary = "Create new task status")
     @ApiResponse(responseCode = "201", description = "New task status successfully created",
@@ -45,11 +49,11 @@ public class StatusController {
     @ApiResponse(responseCode = "200", description = "All task statuses are found",
         content = @Content(schema = @Schema(implementation = TaskStatus.class)))
     @GetMapping
-    List<TaskStatusDTO> findAllStatuses() {
-        List<TaskStatus> existedStatuses = statusService.getStatuses();
-        return existedStatuses.stream()
-                .map(TaskStatusDTO::toStatusDTO)
-                .collect(Collectors.toList());
+    List<TaskStatusDTO> findAllStatuses(WebRequest request) {
+        if (request.checkNotModified(resourceVersions.eTag("statuses", STATUSES))) {
+            return null;
+        }
+        return statusService.getStatuses();
     }
 
     @Operation(summary = "Get task status by id")
@@ -59,7 +63,10 @@ public class StatusController {
                     schema = @Schema(implementation = TaskStatus.class))}),
         @ApiResponse(responseCode = "404", description = "No such task status found", content = @Content)})
     @GetMapping(path = "/{id}")
-    TaskStatusDTO findStatusById(@PathVariable long id) {
+    TaskStatusDTO findStatusById(@PathVariable long id, WebRequest request) {
+        if (request.checkNotModified(resourceVersions.eTag("status" + id, STATUSES))) {
+            return null;
+        }
         TaskStatus existedStatus = statusService.getStatus(id);
         return TaskStatusDTO.toStatusDTO(existedStatus);
     }
@@ -0,0 +1,42 @@
+package hexlet.code.controller.api;
+
+import hexlet.code.dto.SyncCursor;
+import hexlet.code.dto.SyncResponse;
+import hexlet.code.service.SyncService;
+import hexlet.code.utils.NamedRoutes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("${base-url}" + NamedRoutes.SYNC_PATH)
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @Operation(summary = "Get tasks, labels and statuses changed since the cursor, or a snapshot without one")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Changes and the cursor to continue from"),
+        @ApiResponse(responseCode = "400", description = "Malformed cursor")})
+    @GetMapping
+    SyncResponse sync(@RequestParam(required = false) String since) {
+        return syncService.sync(since == null ? null : decode(since));
+    }
+
+    private static SyncCursor decode(String since) {
+        try {
+            return SyncCursor.decode(since);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(BAD_REQUEST, "Malformed cursor");
+        }
+    }
+}
@@ -1,9 +1,24 @@
 package hexlet.code.controller.api;
 
+import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Predicate;
+import hexlet.code.component.ResourceVersions;
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.component.TaskListCache;
+import hexlet.code.component.TaskPageResolver;
+import hexlet.code.dto.KeysetPage;
+import hexlet.code.dto.TaskBatchRequest;
+import hexlet.code.dto.TaskBatchResult;
+import hexlet.code.dto.TaskFilter;
+import hexlet.code.dto.TaskListParams;
+import hexlet.code.dto.TaskPageRequest;
 import hexlet.code.dto.required.TaskRequiredDTO;
 import hexlet.code.dto.TaskDTO;
 import hexlet.code.model.Task;
+import hexlet.code.repository.TaskSortField;
+import hexlet.code.service.TaskBatchService;
+import hexlet.code.service.TaskExportService;
+import hexlet.code.service.TaskSearchService;
 import hexlet.code.service.TaskService;
 import hexlet.code.utils.NamedRoutes;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,8 +29,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -23,20 +41,38 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.util.stream.Collectors;
+import java.util.List;
 
 @RestController
 @AllArgsConstructor
 @RequestMapping("${base-url}" + NamedRoutes.TASKS_PATH)
 public class TaskController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String AFTER_PARAM = "after";
+    private static final String OFFSET_PARAM = "offset";
+
     private final TaskService taskService;
-    private static final String AUTHOR = """
-            @taskRepository.findById(#id).get().getAuthor().getEmail() == authentication.getName()
-        """;;
+    private final TaskExportService taskExportService;
+    private final TaskBatchService taskBatchService;
+    private final TaskSearchService taskSearchService;
+    private final TaskPageResolver taskPageResolver;
+    private final TaskListCache taskListCache;
+    private final ResourceVersions resourceVersions;
+    /**
+     * Task representations embed the author, executor, status and labels, so their ETags cover those too.
+     */
+    private static final Resource[] TASK_VIEW = {Resource.TASKS, Resource.STATUSES, Resource.LABELS, Resource.USERS};
+    private static final Resource[] TASK_REFERENCES = {Resource.STATUSES, Resource.LABELS, Resource.USERS};
+    private static final String AUTHOR = "@ownershipGuard.isTaskAuthor(#id, authentication)";
 
     @Operation(summary = "Create new task")
     @ApiResponses(value = {
@@ -49,7 +85,19 @@ public class TaskController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     TaskDTO createTask(@RequestBody @Valid TaskRequiredDTO dto) {
-        return TaskDTO.toTaskDTO(taskService.createTask(dto));
+        return taskService.createTask(dto);
+    }
+
+    @Operation(summary = "Create, update and delete tasks in one request")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "The batch has been applied, see the result of each item"),
+        @ApiResponse(responseCode = "400", description = "The batch is too large", content = @Content),
+        @ApiResponse(responseCode = "422", description = "An atomic batch has failed items and nothing was written")})
+    @PostMapping(path = "/batch")
+    ResponseEntity<TaskBatchResult> batchTasks(@RequestBody TaskBatchRequest request) {
+        final TaskBatchResult result = taskBatchService.apply(request);
+        return ResponseEntity.status(result.applied() ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(result);
     }
 
     @Operation(summary = "Get tasks by predicate or get all tasks")
@@ -59,10 +107,74 @@ public class TaskController {
                         schema = @Schema(implementation = Task.class))}),
         @ApiResponse(responseCode = "404", description = "No such task found", content = @Content)})
     @GetMapping
-    Iterable<TaskDTO> getAllTask(@QuerydslPredicate(root = Task.class) Predicate predicate) {
-        return taskService.getAllTasks(predicate)
-                   .stream().map(TaskDTO::toTaskDTO)
-                   .collect(Collectors.toList());
+    ResponseEntity<Iterable<TaskDTO>> getAllTask(@QuerydslPredicate(root = Task.class) Predicate predicate,
+                                                 TaskListParams params,
+                                                 @RequestParam MultiValueMap<String, String> query,
+                                                 WebRequest request) {
+        final TaskPageRequest pageRequest = taskPageResolver.resolve(params.limit(), params.sort(), params.after());
+        if (request.checkNotModified(resourceVersions.eTag("tasks", TASK_VIEW))) {
+            return null;
+        }
+
+        final TaskFilter filter = params.filter();
+        if (params.q() != null) {
+            final int offset = params.offset() == null ? 0 : params.offset();
+            return searchTasks(params.q(), withFilter(predicate, filter), offset, pageRequest.limit());
+        }
+
+        final KeysetPage<TaskDTO> page = taskListCache.get(query, filter, pageRequest, () ->
+                !filter.isEmpty() && pageRequest.sort() == TaskSortField.ID && taskSearchService.canFilter()
+                        ? taskSearchService.filter(filter, predicate, pageRequest)
+                        : taskService.getAllTasks(withFilter(predicate, filter), pageRequest));
+        if (page.nextCursor() == null) {
+            return ResponseEntity.ok(page.content());
+        }
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, nextPageLink(AFTER_PARAM, page.nextCursor()))
+                .header(NEXT_CURSOR_HEADER, page.nextCursor())
+                .body(page.content());
+    }
+
+    private ResponseEntity<Iterable<TaskDTO>> searchTasks(String query, Predicate predicate, int offset, int limit) {
+        if (offset < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parameter 'offset' must not be negative");
+        }
+
+        final List<TaskDTO> hits = taskSearchService.search(query, predicate, offset, limit);
+        if (hits.size() <= limit) {
+            return ResponseEntity.ok(hits);
+        }
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, nextPageLink(OFFSET_PARAM, String.valueOf(offset + limit)))
+                .body(hits.subList(0, limit));
+    }
+
+    private static Predicate withFilter(Predicate predicate, TaskFilter filter) {
+        return filter.isEmpty() ? predicate : new BooleanBuilder(predicate).and(filter.toPredicate());
+    }
+
+    private static String nextPageLink(String param, String value) {
+        final String nextPage = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam(param, value)
+                .toUriString();
+        return "<" + nextPage + ">; rel=\"next\"";
+    }
+
+    @Operation(summary = "Export tasks matching the predicate as NDJSON or CSV")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tasks are streamed in the requested format"),
+        @ApiResponse(responseCode = "400", description = "Unknown export format", content = @Content)})
+    @GetMapping(path = "/export")
+    ResponseEntity<StreamingResponseBody> exportTasks(@QuerydslPredicate(root = Task.class) Predicate predicate,
+                                                      @RequestParam(defaultValue = "ndjson") String format) {
+        final TaskExportService.Format exportFormat = TaskExportService.Format.fromName(format)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown format: " + format));
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .body(outputStream -> taskExportService.export(predicate, exportFormat, outputStream));
     }
 
     @Operation(summary = "Get task by id")
@@ -72,7 +184,11 @@ public class TaskController {
                         schema = @Schema(implementation = Task.class))}),
         @ApiResponse(responseCode = "404", description = "No such task found", content = @Content)})
     @GetMapping(path = "/{id}")
-    TaskDTO findTaskById(@PathVariable long id) {
+    TaskDTO findTaskById(@PathVariable long id, WebRequest request) {
+        final String eTag = resourceVersions.eTag("task" + id + "v" + taskService.getTaskVersion(id), TASK_REFERENCES);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         return TaskDTO.toTaskDTO(taskService.getTaskById(id));
     }
 
@@ -87,7 +203,7 @@ public class TaskController {
     TaskDTO updateTask(@RequestBody @Valid TaskRequiredDTO dto,
                               @PathVariable Long id) {
 
-        return TaskDTO.toTaskDTO(taskService.updateTask(dto, id));
+        return taskService.updateTask(dto, id);
     }
 
     @PreAuthorize(AUTHOR)
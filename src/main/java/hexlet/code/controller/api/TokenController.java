@@ -0,0 +1,46 @@
+package hexlet.code.controller.api;
+
+import hexlet.code.dto.RevokeTokenDTO;
+import hexlet.code.service.TokenService;
+import hexlet.code.utils.NamedRoutes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.http.HttpStatus.NO_CONTENT;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("${base-url}")
+public class TokenController {
+
+    private final TokenService tokenService;
+
+    @Operation(summary = "Revoke the token of the current request")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "The token has been revoked"),
+        @ApiResponse(responseCode = "422", description = "The token has no id and can't be revoked")})
+    @PostMapping(path = NamedRoutes.LOGOUT_PATH)
+    @ResponseStatus(NO_CONTENT)
+    void logout() {
+        tokenService.revokeCurrentToken();
+    }
+
+    @Operation(summary = "Revoke another token of the current user")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "The token has been revoked"),
+        @ApiResponse(responseCode = "403", description = "The token belongs to another user"),
+        @ApiResponse(responseCode = "422", description = "The token is not valid or can't be revoked")})
+    @PostMapping(path = NamedRoutes.TOKENS_PATH + "/revoke")
+    @ResponseStatus(NO_CONTENT)
+    void revokeToken(@RequestBody @Valid RevokeTokenDTO dto) {
+        tokenService.revokeToken(dto.token());
+    }
+}
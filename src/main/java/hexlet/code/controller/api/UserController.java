@@ -1,5 +1,7 @@
 package hexlet.code.controller.api;
 
+import hexlet.code.component.ResourceVersions;
+import hexlet.code.dto.KeysetPage;
 import hexlet.code.dto.UserDTO;
 import hexlet.code.dto.required.UserRequiredDTO;
 import hexlet.code.model.User;
@@ -12,6 +14,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,12 +25,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
+import static hexlet.code.component.ResourceVersions.Resource.USERS;
 import static org.springframework.http.HttpStatus.CREATED;
 
 @AllArgsConstructor
@@ -33,11 +42,13 @@ import static org.springframework.http.HttpStatus.CREATED;
 @RequestMapping("${base-url}" + NamedRoutes.USERS_PATH)
 public class UserController {
 
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_SUGGESTIONS = 50;
+
     private final UserService userService;
+    private final ResourceVersions resourceVersions;
 
-    private static final String OWNER = """
-            @userRepository.findById(#id).get().getEmail() == authentication.getName()
-        """;
+    private static final String OWNER = "@ownershipGuard.isUser(#id, authentication)";
 
     @Operation(summary = "Create new user")
     @ApiResponses(value = {
@@ -51,17 +62,54 @@ public class UserController {
         return UserDTO.toUserDTO(userService.createUser(userDto));
     }
 
-    @Operation(summary = "Get list of all users")
+    @Operation(summary = "Get list of all users, or a page of it when a limit is given")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200",
             content = @Content(schema = @Schema(implementation = User.class)),
-            description = "List of all users"),
+            description = "List of users"),
+        @ApiResponse(responseCode = "400", description = "Limit is out of range")
     })
     @GetMapping
-    List<UserDTO> findAllUsers() {
-        return userService.getAllUsers().stream()
-                .map(UserDTO::toUserDTO)
-                .collect(Collectors.toList());
+    ResponseEntity<List<UserDTO>> findAllUsers(@RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) Long after,
+                                               WebRequest request) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Parameter 'limit' must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (request.checkNotModified(resourceVersions.eTag("users", USERS))) {
+            return null;
+        }
+        if (limit == null && after == null) {
+            return ResponseEntity.ok(userService.getAllUsers());
+        }
+
+        final KeysetPage<UserDTO> page = userService.getUsers(after, limit == null ? MAX_PAGE_SIZE : limit);
+        if (page.nextCursor() == null) {
+            return ResponseEntity.ok(page.content());
+        }
+
+        final String nextPage = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", page.nextCursor())
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + nextPage + ">; rel=\"next\"")
+                .header(TaskController.NEXT_CURSOR_HEADER, page.nextCursor())
+                .body(page.content());
+    }
+
+    @Operation(summary = "Suggest users whose email, first, last or full name starts with the prefix")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching users, ordered by the matched name"),
+        @ApiResponse(responseCode = "400", description = "Limit is out of range")
+    })
+    @GetMapping(path = "/suggest")
+    List<UserDTO> suggestUsers(@RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Parameter 'limit' must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return userService.suggestUsers(prefix, limit);
     }
 
     @Operation(summary = "Get specific user by his id")
@@ -70,7 +118,10 @@ public class UserController {
         @ApiResponse(responseCode = "404", description = "User with that id not found")
     })
     @GetMapping(path = "/{id}")
-    UserDTO findUserById(@PathVariable long id) {
+    UserDTO findUserById(@PathVariable long id, WebRequest request) {
+        if (request.checkNotModified(resourceVersions.eTag("user" + id, USERS))) {
+            return null;
+        }
         User existedUser = userService.getUserById(id);
         return UserDTO.toUserDTO(existedUser);
     }
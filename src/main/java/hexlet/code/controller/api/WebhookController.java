@@ -0,0 +1,67 @@
+package hexlet.code.controller.api;
+
+import hexlet.code.dto.WebhookDeadLetterDTO;
+import hexlet.code.dto.WebhookSubscriptionDTO;
+import hexlet.code.dto.required.WebhookSubscriptionRequiredDTO;
+import hexlet.code.service.WebhookService;
+import hexlet.code.utils.NamedRoutes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("${base-url}" + NamedRoutes.WEBHOOKS_PATH)
+public class WebhookController {
+
+    private final WebhookService webhookService;
+
+    @Operation(summary = "Subscribe an endpoint to task events")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "The subscription has been successfully created"),
+        @ApiResponse(responseCode = "422", description = "Invalid request", content = @Content)})
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    WebhookSubscriptionDTO createSubscription(@RequestBody @Valid WebhookSubscriptionRequiredDTO dto) {
+        return webhookService.createSubscription(dto);
+    }
+
+    @Operation(summary = "Get webhook subscriptions of the current user")
+    @ApiResponse(responseCode = "200", description = "Subscriptions are found")
+    @GetMapping
+    List<WebhookSubscriptionDTO> findSubscriptions() {
+        return webhookService.getSubscriptions();
+    }
+
+    @Operation(summary = "Get batches the subscription's endpoint didn't take")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Dead letters are found"),
+        @ApiResponse(responseCode = "404", description = "No such subscription found", content = @Content)})
+    @GetMapping(path = "/{id}/dead-letters")
+    List<WebhookDeadLetterDTO> findDeadLetters(@PathVariable long id) {
+        return webhookService.getDeadLetters(id);
+    }
+
+    @Operation(summary = "Delete the subscription by id")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Subscription has been successfully deleted"),
+        @ApiResponse(responseCode = "404", description = "No such subscription found")})
+    @DeleteMapping(path = "/{id}")
+    void deleteSubscription(@PathVariable long id) {
+        webhookService.deleteSubscription(id);
+    }
+}
@@ -0,0 +1,11 @@
+package hexlet.code.dto;
+
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.event.ChangeType;
+
+/**
+ * What changed, without the new state: subscribers refetch the resources they display. {@code sequence} grows
+ * by one per notice sent to the subscriber, so a gap means notices were dropped.
+ */
+public record ChangeNotice(long sequence, Resource resource, ChangeType type, long id) {
+}
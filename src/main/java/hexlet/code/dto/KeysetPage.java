@@ -0,0 +1,8 @@
+package hexlet.code.dto;
+
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+public record KeysetPage<T>(List<T> content, @Nullable String nextCursor) {
+}
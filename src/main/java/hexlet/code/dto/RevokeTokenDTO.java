@@ -0,0 +1,6 @@
+package hexlet.code.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RevokeTokenDTO(@NotBlank String token) {
+}
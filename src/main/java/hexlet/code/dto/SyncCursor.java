@@ -0,0 +1,39 @@
+package hexlet.code.dto;
+
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position in the change log: the last entry a client has seen and the time up to which it has seen all of them.
+ * The time tells whether tombstones the client hasn't seen yet may already be compacted away. While a snapshot is
+ * paged out, {@code snapshotAfter} is the id of the last task sent, the log position is the one the snapshot
+ * started from.
+ */
+public record SyncCursor(long id, Instant seenUntil, @Nullable Long snapshotAfter) {
+    private static final String SEPARATOR = "|";
+
+    public SyncCursor(long id, Instant seenUntil) {
+        this(id, seenUntil, null);
+    }
+
+    public String encode() {
+        final String raw = id + SEPARATOR + seenUntil.toEpochMilli()
+                + (snapshotAfter == null ? "" : SEPARATOR + snapshotAfter);
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncCursor decode(String cursor) {
+        final String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        final String[] parts = raw.split("\\" + SEPARATOR, 3);
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new SyncCursor(Long.parseLong(parts[0]), Instant.ofEpochMilli(Long.parseLong(parts[1])),
+                parts.length == 3 ? Long.valueOf(parts[2]) : null);
+    }
+}
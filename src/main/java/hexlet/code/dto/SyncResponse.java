@@ -0,0 +1,23 @@
+package hexlet.code.dto;
+
+import hexlet.code.component.ResourceVersions.Resource;
+
+import java.util.List;
+
+/**
+ * Changes since a cursor: the current state of every created or updated entity and a tombstone for every deleted
+ * one. A snapshot holds everything instead, tasks paged in id order and labels and statuses with the first page,
+ * and replaces whatever the client has stored. {@code hasMore} means the next page can be requested right away
+ * with {@code cursor}, which for a snapshot also resumes it after an interruption.
+ */
+public record SyncResponse(String cursor,
+                           boolean snapshot,
+                           boolean hasMore,
+                           List<TaskDTO> tasks,
+                           List<LabelDTO> labels,
+                           List<TaskStatusDTO> statuses,
+                           List<Tombstone> deleted) {
+
+    public record Tombstone(Resource resource, long id) {
+    }
+}
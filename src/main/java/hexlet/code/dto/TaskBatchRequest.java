@@ -0,0 +1,27 @@
+package hexlet.code.dto;
+
+import hexlet.code.dto.required.TaskRequiredDTO;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/tasks/batch}. With {@code atomic} set nothing is written unless every item succeeds,
+ * otherwise failed items are reported and the rest are applied.
+ */
+public record TaskBatchRequest(@Nullable List<TaskRequiredDTO> create,
+                               @Nullable List<Update> update,
+                               @Nullable List<Long> delete,
+                               boolean atomic) {
+
+    public record Update(Long id, TaskRequiredDTO task) {
+    }
+
+    public int size() {
+        return orEmpty(create).size() + orEmpty(update).size() + orEmpty(delete).size();
+    }
+
+    public static <T> List<T> orEmpty(List<T> items) {
+        return items == null ? List.of() : items;
+    }
+}
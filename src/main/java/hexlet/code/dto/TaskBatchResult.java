@@ -0,0 +1,20 @@
+package hexlet.code.dto;
+
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch. Items are reported in request order, {@code index} points into the list of their operation.
+ */
+public record TaskBatchResult(boolean applied, List<Item> items) {
+
+    public enum Operation {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    public record Item(Operation operation, int index, @Nullable Long id, int status, @Nullable String error) {
+    }
+}
@@ -0,0 +1,37 @@
+package hexlet.code.dto;
+
+import hexlet.code.repository.TaskSortField;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last task of a page. Clients get it as an opaque string and pass it back as {@code after}.
+ */
+public record TaskCursor(TaskSortField sort, long id, String value) {
+    private static final String SEPARATOR = "|";
+
+    public TaskCursor {
+        sort.checkValue(value);
+    }
+
+    public static TaskCursor of(TaskSortField sort, TaskDTO task) {
+        return new TaskCursor(sort, task.id(), sort.valueOf(task));
+    }
+
+    public String encode() {
+        final String raw = sort.name() + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        final String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        final String[] parts = raw.split("\\" + SEPARATOR, 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new TaskCursor(TaskSortField.valueOf(parts[0]), Long.parseLong(parts[1]), parts[2]);
+    }
+}
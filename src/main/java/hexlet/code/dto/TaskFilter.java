@@ -0,0 +1,61 @@
+package hexlet.code.dto;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+
+import java.util.Set;
+
+import static hexlet.code.model.QTask.task;
+
+/**
+ * Filter served by the bitmap index. Ids inside one dimension are combined with OR, dimensions with AND.
+ */
+public record TaskFilter(Set<Long> taskStatusIds,
+                         Set<Long> executorIds,
+                         Set<Long> authorIds,
+                         Set<Long> labelIds) {
+
+    public static TaskFilter of(Set<Long> taskStatusIds,
+                                Set<Long> executorIds,
+                                Set<Long> authorIds,
+                                Set<Long> labelIds) {
+        return new TaskFilter(orEmpty(taskStatusIds), orEmpty(executorIds), orEmpty(authorIds), orEmpty(labelIds));
+    }
+
+    public boolean isEmpty() {
+        return taskStatusIds.isEmpty() && executorIds.isEmpty() && authorIds.isEmpty() && labelIds.isEmpty();
+    }
+
+    public boolean matches(TaskDTO task) {
+        return matches(taskStatusIds, task.taskStatus() == null ? null : task.taskStatus().id())
+                && matches(executorIds, task.executor() == null ? null : task.executor().getId())
+                && matches(authorIds, task.author() == null ? null : task.author().getId())
+                && (labelIds.isEmpty() || task.labels() != null
+                        && task.labels().stream().anyMatch(label -> labelIds.contains(label.id())));
+    }
+
+    public Predicate toPredicate() {
+        final BooleanBuilder builder = new BooleanBuilder();
+        if (!taskStatusIds.isEmpty()) {
+            builder.and(task.taskStatus.id.in(taskStatusIds));
+        }
+        if (!executorIds.isEmpty()) {
+            builder.and(task.executor.id.in(executorIds));
+        }
+        if (!authorIds.isEmpty()) {
+            builder.and(task.author.id.in(authorIds));
+        }
+        if (!labelIds.isEmpty()) {
+            builder.and(task.labels.any().id.in(labelIds));
+        }
+        return builder;
+    }
+
+    private static boolean matches(Set<Long> ids, Long id) {
+        return ids.isEmpty() || id != null && ids.contains(id);
+    }
+
+    private static Set<Long> orEmpty(Set<Long> ids) {
+        return ids == null ? Set.of() : ids;
+    }
+}
@@ -0,0 +1,24 @@
+package hexlet.code.dto;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Set;
+
+/**
+ * Request parameters of the task list besides the {@code @QuerydslPredicate} filters. Filter names follow the
+ * ones the frontend sends.
+ */
+public record TaskListParams(@Nullable Integer limit,
+                             @Nullable String sort,
+                             @Nullable String after,
+                             @Nullable String q,
+                             @Nullable Integer offset,
+                             @Nullable Set<Long> taskStatus,
+                             @Nullable Set<Long> executorId,
+                             @Nullable Set<Long> authorId,
+                             @Nullable Set<Long> labelsId) {
+
+    public TaskFilter filter() {
+        return TaskFilter.of(taskStatus, executorId, authorId, labelsId);
+    }
+}
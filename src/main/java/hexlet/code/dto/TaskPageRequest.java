@@ -0,0 +1,10 @@
+package hexlet.code.dto;
+
+import hexlet.code.repository.TaskSortField;
+import org.springframework.lang.Nullable;
+
+public record TaskPageRequest(int limit,
+                              TaskSortField sort,
+                              boolean descending,
+                              @Nullable TaskCursor after) {
+}
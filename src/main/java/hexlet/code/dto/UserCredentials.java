@@ -0,0 +1,7 @@
+package hexlet.code.dto;
+
+/**
+ * The columns login needs, read without loading the {@code User} entity.
+ */
+public record UserCredentials(Long id, String email, String password, String firstName, String lastName) {
+}
@@ -0,0 +1,17 @@
+package hexlet.code.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import hexlet.code.model.WebhookDeadLetter;
+
+import java.time.Instant;
+
+public record WebhookDeadLetterDTO(Long id,
+                                   @JsonRawValue String payload,
+                                   String error,
+                                   int attempts,
+                                   Instant createdAt) {
+    public static WebhookDeadLetterDTO toWebhookDeadLetterDTO(WebhookDeadLetter deadLetter) {
+        return new WebhookDeadLetterDTO(deadLetter.getId(), deadLetter.getPayload(), deadLetter.getError(),
+                deadLetter.getAttempts(), deadLetter.getCreatedAt());
+    }
+}
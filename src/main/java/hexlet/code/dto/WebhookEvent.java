@@ -0,0 +1,15 @@
+package hexlet.code.dto;
+
+import hexlet.code.event.WebhookEventType;
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One element of a webhook payload. Receivers get a JSON array of these and can drop repeated ones by
+ * {@code id}, as a batch is sent again when its delivery isn't confirmed. {@code task} is {@code null} for
+ * deletions.
+ */
+public record WebhookEvent(UUID id, WebhookEventType type, long taskId, @Nullable TaskDTO task, Instant occurredAt) {
+}
@@ -0,0 +1,14 @@
+package hexlet.code.dto;
+
+import hexlet.code.event.WebhookEventType;
+import hexlet.code.model.WebhookSubscription;
+
+import java.util.Date;
+import java.util.Set;
+
+public record WebhookSubscriptionDTO(Long id, String url, Set<WebhookEventType> events, Date createdAt) {
+    public static WebhookSubscriptionDTO toWebhookSubscriptionDTO(WebhookSubscription subscription) {
+        return new WebhookSubscriptionDTO(subscription.getId(), subscription.getUrl(),
+                Set.copyOf(subscription.getEvents()), subscription.getCreatedAt());
+    }
+}
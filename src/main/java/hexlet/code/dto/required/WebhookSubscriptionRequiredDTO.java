@@ -0,0 +1,19 @@
+package hexlet.code.dto.required;
+
+import hexlet.code.event.WebhookEventType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.util.Set;
+
+public record WebhookSubscriptionRequiredDTO(
+    @NotBlank(message = "URL is required")
+    @Pattern(regexp = "https?://\\S+", message = "An http or https URL is required")
+    @Size(max = 2048, message = "URL must not be longer than 2048 characters")
+    String url,
+    @NotEmpty(message = "At least one event is required")
+    Set<WebhookEventType> events
+) {
+}
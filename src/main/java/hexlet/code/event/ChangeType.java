@@ -0,0 +1,7 @@
+package hexlet.code.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
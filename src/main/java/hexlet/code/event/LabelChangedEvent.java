@@ -0,0 +1,7 @@
+package hexlet.code.event;
+
+import hexlet.code.dto.LabelDTO;
+import org.springframework.lang.Nullable;
+
+public record LabelChangedEvent(ChangeType type, long id, @Nullable LabelDTO label) {
+}
@@ -0,0 +1,42 @@
+package hexlet.code.event;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.model.OutboxMessage;
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+
+/**
+ * An outbox message as sinks hand it on: published to in-process listeners and written as one JSON line to files
+ * and webhooks. {@code id} only grows, so consumers can drop messages they have already seen.
+ */
+public record OutboxEvent(long id,
+                          Resource aggregate,
+                          long aggregateId,
+                          ChangeType type,
+                          @Nullable @JsonRawValue String payload,
+                          Instant createdAt) {
+
+    public static OutboxEvent of(OutboxMessage message) {
+        return new OutboxEvent(message.getId(), message.getAggregate(), message.getAggregateId(), message.getType(),
+                message.getPayload(), message.getCreatedAt());
+    }
+
+    /**
+     * The saved state the payload holds, {@code null} for deletions.
+     */
+    @Nullable
+    public <T> T state(ObjectMapper objectMapper, Class<T> type) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't read " + aggregate + " " + aggregateId + " of message " + id, e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package hexlet.code.event;
+
+import hexlet.code.dto.TaskStatusDTO;
+import org.springframework.lang.Nullable;
+
+public record StatusChangedEvent(ChangeType type, long id, @Nullable TaskStatusDTO status) {
+}
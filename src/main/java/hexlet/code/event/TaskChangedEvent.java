@@ -0,0 +1,12 @@
+package hexlet.code.event;
+
+import hexlet.code.dto.TaskDTO;
+import org.springframework.lang.Nullable;
+
+/**
+ * Published by {@code TaskService} inside the write transaction. {@code task} is a snapshot of the saved state
+ * and is {@code null} for deletions; {@code previous} is the state an update started from and is {@code null}
+ * otherwise.
+ */
+public record TaskChangedEvent(ChangeType type, long id, @Nullable TaskDTO task, @Nullable TaskDTO previous) {
+}
@@ -0,0 +1,7 @@
+package hexlet.code.event;
+
+import hexlet.code.dto.UserDTO;
+import org.springframework.lang.Nullable;
+
+public record UserChangedEvent(ChangeType type, long id, @Nullable UserDTO user) {
+}
@@ -0,0 +1,13 @@
+package hexlet.code.event;
+
+/**
+ * What a webhook subscription can follow. An update that moves a task to another status or executor is sent as
+ * {@code TASK_UPDATED} and as the more specific type, to the subscriptions that follow each.
+ */
+public enum WebhookEventType {
+    TASK_CREATED,
+    TASK_UPDATED,
+    TASK_DELETED,
+    TASK_STATUS_CHANGED,
+    TASK_REASSIGNED
+}
@@ -0,0 +1,9 @@
+package hexlet.code.event;
+
+import hexlet.code.dto.WebhookSubscriptionDTO;
+import org.springframework.lang.Nullable;
+
+public record WebhookSubscriptionChangedEvent(ChangeType type,
+                                              long id,
+                                              @Nullable WebhookSubscriptionDTO subscription) {
+}
@@ -0,0 +1,49 @@
+package hexlet.code.model;
+
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.event.ChangeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+import static jakarta.persistence.EnumType.STRING;
+import static jakarta.persistence.GenerationType.IDENTITY;
+
+/**
+ * One committed write. Ids come from an identity column rather than a pooled sequence, so their order is the
+ * order the rows were inserted in, which sync cursors rely on.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "change_log")
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeLogEntry {
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    private Long id;
+
+    @Enumerated(STRING)
+    @Column(nullable = false)
+    private Resource resource;
+
+    @Column(nullable = false)
+    private long entityId;
+
+    @Enumerated(STRING)
+    @Column(nullable = false)
+    private ChangeType type;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
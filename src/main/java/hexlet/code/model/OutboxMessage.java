@@ -0,0 +1,54 @@
+package hexlet.code.model;
+
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.event.ChangeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+import static jakarta.persistence.EnumType.STRING;
+import static jakarta.persistence.GenerationType.IDENTITY;
+
+/**
+ * A change to hand to downstream consumers, written in the transaction that made it. {@code payload} is the JSON
+ * of the saved state and is {@code null} for deletions.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "outbox_messages")
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = IDENTITY)
+    private Long id;
+
+    @Enumerated(STRING)
+    @Column(nullable = false)
+    private Resource aggregate;
+
+    @Column(nullable = false)
+    private long aggregateId;
+
+    @Enumerated(STRING)
+    @Column(nullable = false)
+    private ChangeType type;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,27 @@
+package hexlet.code.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Id of the last outbox message a sink has accepted.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "outbox_offsets")
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxOffset {
+    @Id
+    private String sink;
+
+    @Column(nullable = false)
+    private long position;
+}
@@ -51,12 +51,12 @@ public class User {
     private Date createdAt;
 
     @JsonIgnore
-    @OneToMany(fetch = FetchType.EAGER,
+    @OneToMany(fetch = FetchType.LAZY,
             mappedBy = "author")
     private List<Task> listTaskAuthor;
 
     @JsonIgnore
-    @OneToMany(fetch = FetchType.EAGER,
+    @OneToMany(fetch = FetchType.LAZY,
             mappedBy = "executor")
     private List<Task> listTaskExecutor;
 }
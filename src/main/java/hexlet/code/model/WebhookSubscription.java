@@ -0,0 +1,58 @@
+package hexlet.code.model;
+
+import hexlet.code.event.WebhookEventType;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.util.Date;
+import java.util.Set;
+
+import static jakarta.persistence.EnumType.STRING;
+import static jakarta.persistence.GenerationType.SEQUENCE;
+import static jakarta.persistence.TemporalType.TIMESTAMP;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "webhook_subscriptions")
+@AllArgsConstructor
+@NoArgsConstructor
+public class WebhookSubscription {
+    @Id
+    @GeneratedValue(strategy = SEQUENCE, generator = "webhook_subscriptions_seq")
+    @SequenceGenerator(name = "webhook_subscriptions_seq", sequenceName = "webhook_subscriptions_seq",
+            allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 2048)
+    private String url;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private User owner;
+
+    @Enumerated(STRING)
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "webhook_subscription_events", joinColumns = @JoinColumn(name = "subscription_id"))
+    @Column(name = "event")
+    private Set<WebhookEventType> events;
+
+    @CreationTimestamp
+    @Temporal(TIMESTAMP)
+    private Date createdAt;
+}
@@ -0,0 +1,32 @@
+package hexlet.code.repository;
+
+import hexlet.code.event.ChangeType;
+import hexlet.code.model.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+    @Query("select e from ChangeLogEntry e where e.id > :after and e.createdAt <= :settled order by e.id")
+    List<ChangeLogEntry> findSettled(@Param("after") long after,
+                                     @Param("settled") Instant settled,
+                                     Pageable pageable);
+    @Query("select max(e.id) from ChangeLogEntry e where e.createdAt <= :settled")
+    Optional<Long> findLastSettledId(@Param("settled") Instant settled);
+    @Modifying
+    @Query("""
+            delete from ChangeLogEntry e where e.createdAt < :before and exists (
+                select n.id from ChangeLogEntry n
+                where n.resource = e.resource and n.entityId = e.entityId and n.id > e.id)
+            """)
+    int deleteSuperseded(@Param("before") Instant before);
+    @Modifying
+    @Query("delete from ChangeLogEntry e where e.type = :type and e.createdAt < :before")
+    int deleteOlderThan(@Param("type") ChangeType type, @Param("before") Instant before);
+}
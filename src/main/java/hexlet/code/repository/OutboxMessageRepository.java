@@ -0,0 +1,26 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.OutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+    @Query("select m from OutboxMessage m where m.id > :after and m.createdAt <= :settled order by m.id")
+    List<OutboxMessage> findSettled(@Param("after") long after,
+                                    @Param("settled") Instant settled,
+                                    Pageable pageable);
+    @Query("select max(m.id) from OutboxMessage m where m.createdAt <= :settled")
+    Optional<Long> findLastSettledId(@Param("settled") Instant settled);
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxMessage m where m.id <= :position and m.createdAt < :before")
+    int deleteDelivered(@Param("position") long position, @Param("before") Instant before);
+}
@@ -0,0 +1,167 @@
+package hexlet.code.repository;
+
+import hexlet.code.dto.LabelDTO;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFilter;
+import hexlet.code.dto.TaskStatusDTO;
+import hexlet.code.dto.UserDTO;
+import io.r2dbc.spi.Row;
+import org.springframework.lang.Nullable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Task reads over R2DBC, for streaming endpoints that shouldn't hold a thread per reader. Applies the same
+ * filters as {@link TaskFilter#toPredicate()} and the case-insensitive {@code contains} binding of
+ * {@link TaskRepository} for names and descriptions. Rows are joined with their labels and folded back into one
+ * task per id, in id order, as the subscriber requests them.
+ */
+@Repository
+public class ReactiveTaskRepository {
+
+    private static final String SELECT = """
+            select t.id, t.name, t.description, t.created_at,
+                   a.id as author_id, a.email as author_email, a.first_name as author_first_name,
+                   a.last_name as author_last_name, a.created_at as author_created_at,
+                   e.id as executor_id, e.email as executor_email, e.first_name as executor_first_name,
+                   e.last_name as executor_last_name, e.created_at as executor_created_at,
+                   s.id as status_id, s.name as status_name, s.created_at as status_created_at,
+                   l.id as label_id, l.name as label_name, l.created_at as label_created_at
+            from tasks t
+            left join users a on a.id = t.author_id
+            left join users e on e.id = t.executor_id
+            left join statuses s on s.id = t.task_status_id
+            left join task_label tl on tl.task_id = t.id
+            left join labels l on l.id = tl.label_id
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveTaskRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<TaskDTO> findAll(TaskFilter filter, @Nullable String name, @Nullable String description) {
+        final List<String> conditions = new ArrayList<>();
+        final Map<String, Object> parameters = new HashMap<>();
+        if (!filter.taskStatusIds().isEmpty()) {
+            conditions.add("t.task_status_id in (:statuses)");
+            parameters.put("statuses", filter.taskStatusIds());
+        }
+        if (!filter.executorIds().isEmpty()) {
+            conditions.add("t.executor_id in (:executors)");
+            parameters.put("executors", filter.executorIds());
+        }
+        if (!filter.authorIds().isEmpty()) {
+            conditions.add("t.author_id in (:authors)");
+            parameters.put("authors", filter.authorIds());
+        }
+        if (!filter.labelIds().isEmpty()) {
+            conditions.add("exists (select 1 from task_label f"
+                    + " where f.task_id = t.id and f.label_id in (:labels))");
+            parameters.put("labels", filter.labelIds());
+        }
+        if (name != null) {
+            conditions.add("lower(t.name) like :name escape '\\'");
+            parameters.put("name", containsPattern(name));
+        }
+        if (description != null) {
+            conditions.add("lower(t.description) like :description escape '\\'");
+            parameters.put("description", containsPattern(description));
+        }
+
+        final String where = conditions.isEmpty() ? "" : "where " + String.join(" and ", conditions) + "\n";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(SELECT + where + "order by t.id");
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+
+        return spec.map((row, metadata) -> TaskRow.of(row))
+                .all()
+                .bufferUntilChanged(TaskRow::id)
+                .map(ReactiveTaskRepository::toTaskDTO);
+    }
+
+    private static String containsPattern(String value) {
+        final String escaped = value.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private static TaskDTO toTaskDTO(List<TaskRow> rows) {
+        final TaskRow first = rows.get(0);
+        final Set<LabelDTO> labels = new LinkedHashSet<>();
+        rows.stream()
+                .map(TaskRow::label)
+                .filter(Objects::nonNull)
+                .forEach(labels::add);
+        return new TaskDTO(first.id(), first.name(), first.description(), first.author(), first.executor(),
+                first.status(), labels, first.createdAt());
+    }
+
+    private static UserDTO user(Row row, String prefix) {
+        final Long id = row.get(prefix + "_id", Long.class);
+        if (id == null) {
+            return null;
+        }
+
+        final UserDTO user = new UserDTO(id);
+        user.setEmail(row.get(prefix + "_email", String.class));
+        user.setFirstName(row.get(prefix + "_first_name", String.class));
+        user.setLastName(row.get(prefix + "_last_name", String.class));
+        user.setCreatedAt(date(row, prefix + "_created_at"));
+        return user;
+    }
+
+    /**
+     * Timestamps are stored without a zone and read in the JVM's default one, as Hibernate does for the JPA side.
+     */
+    private static Date date(Row row, String column) {
+        final LocalDateTime value = row.get(column, LocalDateTime.class);
+        return value == null ? null : Date.from(value.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private record TaskRow(Long id,
+                           String name,
+                           String description,
+                           Date createdAt,
+                           UserDTO author,
+                           UserDTO executor,
+                           TaskStatusDTO status,
+                           LabelDTO label) {
+
+        static TaskRow of(Row row) {
+            final Long statusId = row.get("status_id", Long.class);
+            final Long labelId = row.get("label_id", Long.class);
+            return new TaskRow(
+                    row.get("id", Long.class),
+                    row.get("name", String.class),
+                    row.get("description", String.class),
+                    date(row, "created_at"),
+                    user(row, "author"),
+                    user(row, "executor"),
+                    statusId == null
+                            ? null
+                            : new TaskStatusDTO(statusId, row.get("status_name", String.class),
+                                    date(row, "status_created_at")),
+                    labelId == null
+                            ? null
+                            : new LabelDTO(labelId, row.get("label_name", String.class),
+                                    date(row, "label_created_at")));
+        }
+    }
+}
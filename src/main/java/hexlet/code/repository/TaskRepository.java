@@ -6,19 +6,33 @@ import hexlet.code.model.QTask;
 import hexlet.code.model.Task;
 import lombok.NonNull;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
 public interface TaskRepository extends JpaRepository<Task, Long>,
                                             QuerydslPredicateExecutor<Task>,
-                                            QuerydslBinderCustomizer<QTask> {
+                                            QuerydslBinderCustomizer<QTask>,
+                                            TaskRepositoryCustom {
+    @Override
+    @EntityGraph(Task.DETAIL_GRAPH)
+    @NonNull Optional<Task> findById(@NonNull Long id);
     Optional<Task> findFirstByOrderById();
     List<Task> findAllByOrderByIdAsc();
+    @EntityGraph(Task.DETAIL_GRAPH)
+    List<Task> findAllByIdIn(Collection<Long> ids);
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+    @Query("select t.author.id from Task t where t.id = :id")
+    Optional<Long> findAuthorIdById(@Param("id") long id);
     @NonNull List<Task> findAll(@NonNull Predicate predicate, @NonNull Sort sort);
     @Override
     default void customize(QuerydslBindings bindings, QTask root) {
@@ -0,0 +1,21 @@
+package hexlet.code.repository;
+
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskPageRequest;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface TaskRepositoryCustom {
+    /**
+     * Returns up to {@code limit + 1} tasks positioned after the request cursor, the extra row tells
+     * the caller whether a next page exists.
+     */
+    List<TaskDTO> findPage(Predicate predicate, TaskPageRequest pageRequest);
+
+    List<TaskDTO> findAllById(Predicate predicate, Collection<Long> ids);
+
+    void forEach(Predicate predicate, int fetchSize, Consumer<TaskDTO> consumer);
+}
@@ -0,0 +1,183 @@
+package hexlet.code.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import hexlet.code.dto.LabelDTO;
+import hexlet.code.dto.TaskCursor;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskPageRequest;
+import hexlet.code.dto.TaskStatusDTO;
+import hexlet.code.dto.UserDTO;
+import hexlet.code.model.QUser;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static hexlet.code.model.QLabel.label;
+import static hexlet.code.model.QTask.task;
+import static hexlet.code.model.QTaskStatus.taskStatus;
+
+/**
+ * Read paths of the task list and export. Rows are projected straight into DTOs, so nothing lands
+ * in the persistence context.
+ */
+@RequiredArgsConstructor
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    private static final QUser AUTHOR = new QUser("author");
+    private static final QUser EXECUTOR = new QUser("executor");
+
+    private static final Expression<?>[] TASK_COLUMNS = {
+        task.id, task.name, task.description, task.createdAt,
+        AUTHOR.id, AUTHOR.email, AUTHOR.firstName, AUTHOR.lastName, AUTHOR.createdAt,
+        EXECUTOR.id, EXECUTOR.email, EXECUTOR.firstName, EXECUTOR.lastName, EXECUTOR.createdAt,
+        taskStatus.id, taskStatus.name, taskStatus.createdAt
+    };
+
+    private static final Expression<?>[] TASK_WITH_LABEL_COLUMNS = Stream.concat(
+            Arrays.stream(TASK_COLUMNS),
+            Stream.<Expression<?>>of(label.id, label.name, label.createdAt)
+    ).toArray(Expression<?>[]::new);
+
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public List<TaskDTO> findPage(Predicate predicate, TaskPageRequest pageRequest) {
+        return withLabels(selectTasks()
+                .where(predicate, keyset(pageRequest))
+                .orderBy(pageRequest.sort().orderBy(pageRequest.descending()))
+                .limit(pageRequest.limit() + 1L)
+                .fetch());
+    }
+
+    @Override
+    public List<TaskDTO> findAllById(Predicate predicate, Collection<Long> ids) {
+        return withLabels(selectTasks()
+                .where(predicate, task.id.in(ids))
+                .fetch());
+    }
+
+    /**
+     * Walks every matching task through a forward-only cursor. Label rows are joined in and ordered by task id,
+     * so each task is assembled from consecutive rows and handed over before the next one is read.
+     */
+    @Override
+    public void forEach(Predicate predicate, int fetchSize, Consumer<TaskDTO> consumer) {
+        try (Stream<Tuple> rows = queryFactory
+                .select(TASK_WITH_LABEL_COLUMNS)
+                .from(task)
+                .leftJoin(task.author, AUTHOR)
+                .leftJoin(task.executor, EXECUTOR)
+                .leftJoin(task.taskStatus, taskStatus)
+                .leftJoin(task.labels, label)
+                .where(predicate)
+                .orderBy(task.id.asc())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .stream()) {
+
+            Tuple current = null;
+            Set<LabelDTO> labels = new HashSet<>();
+            for (Iterator<Tuple> iterator = rows.iterator(); iterator.hasNext();) {
+                final Tuple row = iterator.next();
+                if (current != null && !current.get(task.id).equals(row.get(task.id))) {
+                    consumer.accept(toTaskDTO(current, labels));
+                    labels = new HashSet<>();
+                }
+                current = row;
+                if (row.get(label.id) != null) {
+                    labels.add(new LabelDTO(row.get(label.id), row.get(label.name), row.get(label.createdAt)));
+                }
+            }
+            if (current != null) {
+                consumer.accept(toTaskDTO(current, labels));
+            }
+        }
+    }
+
+    private JPAQuery<Tuple> selectTasks() {
+        return queryFactory
+                .select(TASK_COLUMNS)
+                .from(task)
+                .leftJoin(task.author, AUTHOR)
+                .leftJoin(task.executor, EXECUTOR)
+                .leftJoin(task.taskStatus, taskStatus);
+    }
+
+    private List<TaskDTO> withLabels(List<Tuple> rows) {
+        final Map<Long, Set<LabelDTO>> labels = findLabels(rows.stream().map(row -> row.get(task.id)).toList());
+
+        return rows.stream()
+                .map(row -> toTaskDTO(row, labels.getOrDefault(row.get(task.id), Set.of())))
+                .toList();
+    }
+
+    /**
+     * Labels of a whole page are read with one query instead of one per task.
+     */
+    private Map<Long, Set<LabelDTO>> findLabels(Collection<Long> taskIds) {
+        final Map<Long, Set<LabelDTO>> labels = new HashMap<>();
+        if (taskIds.isEmpty()) {
+            return labels;
+        }
+
+        queryFactory.select(task.id, label.id, label.name, label.createdAt)
+                .from(task)
+                .join(task.labels, label)
+                .where(task.id.in(taskIds))
+                .fetch()
+                .forEach(row -> labels.computeIfAbsent(row.get(task.id), id -> new HashSet<>())
+                        .add(new LabelDTO(row.get(label.id), row.get(label.name), row.get(label.createdAt))));
+        return labels;
+    }
+
+    private static TaskDTO toTaskDTO(Tuple row, Set<LabelDTO> labels) {
+        return new TaskDTO(
+                row.get(task.id),
+                row.get(task.name),
+                row.get(task.description),
+                toUserDTO(row, AUTHOR),
+                toUserDTO(row, EXECUTOR),
+                row.get(taskStatus.id) == null
+                        ? null
+                        : new TaskStatusDTO(row.get(taskStatus.id), row.get(taskStatus.name),
+                                row.get(taskStatus.createdAt)),
+                labels,
+                row.get(task.createdAt)
+        );
+    }
+
+    private static UserDTO toUserDTO(Tuple row, QUser user) {
+        final Long id = row.get(user.id);
+        if (id == null) {
+            return null;
+        }
+
+        final UserDTO userDTO = new UserDTO(id);
+        userDTO.setEmail(row.get(user.email));
+        userDTO.setFirstName(row.get(user.firstName));
+        userDTO.setLastName(row.get(user.lastName));
+        userDTO.setCreatedAt(row.get(user.createdAt));
+        return userDTO;
+    }
+
+    private static BooleanExpression keyset(TaskPageRequest pageRequest) {
+        final TaskCursor after = pageRequest.after();
+        return after == null
+                ? null
+                : pageRequest.sort().after(after.value(), after.id(), pageRequest.descending());
+    }
+}
@@ -0,0 +1,118 @@
+package hexlet.code.repository;
+
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import hexlet.code.dto.TaskDTO;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static hexlet.code.model.QTask.task;
+
+/**
+ * Columns the task list can be ordered by. Every order is made total by using the task id as a tie-breaker,
+ * so a cursor built from the last row of a page always points at a unique position.
+ */
+public enum TaskSortField {
+    ID("id") {
+        @Override
+        public String valueOf(TaskDTO dto) {
+            return String.valueOf(dto.id());
+        }
+
+        @Override
+        OrderSpecifier<?> orderSpecifier(Order order) {
+            return new OrderSpecifier<>(order, task.id);
+        }
+
+        @Override
+        BooleanExpression after(String value, long id, boolean descending) {
+            return descending ? task.id.lt(id) : task.id.gt(id);
+        }
+    },
+    CREATED_AT("createdAt") {
+        @Override
+        public String valueOf(TaskDTO dto) {
+            return dto.createdAt().toInstant().toString();
+        }
+
+        @Override
+        OrderSpecifier<?> orderSpecifier(Order order) {
+            return new OrderSpecifier<>(order, task.createdAt);
+        }
+
+        @Override
+        public void checkValue(String value) {
+            try {
+                Instant.parse(value);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Malformed createdAt: " + value, e);
+            }
+        }
+
+        @Override
+        BooleanExpression after(String value, long id, boolean descending) {
+            final Timestamp createdAt = Timestamp.from(Instant.parse(value));
+            return descending
+                    ? task.createdAt.lt(createdAt).or(task.createdAt.eq(createdAt).and(task.id.lt(id)))
+                    : task.createdAt.gt(createdAt).or(task.createdAt.eq(createdAt).and(task.id.gt(id)));
+        }
+    },
+    NAME("name") {
+        @Override
+        public String valueOf(TaskDTO dto) {
+            return dto.name();
+        }
+
+        @Override
+        OrderSpecifier<?> orderSpecifier(Order order) {
+            return new OrderSpecifier<>(order, task.name);
+        }
+
+        @Override
+        BooleanExpression after(String value, long id, boolean descending) {
+            return descending
+                    ? task.name.lt(value).or(task.name.eq(value).and(task.id.lt(id)))
+                    : task.name.gt(value).or(task.name.eq(value).and(task.id.gt(id)));
+        }
+    };
+
+    private final String property;
+
+    TaskSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static Optional<TaskSortField> fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst();
+    }
+
+    public abstract String valueOf(TaskDTO dto);
+
+    /**
+     * Rejects a cursor value {@link #after} couldn't use, so a garbled cursor fails as such when it is decoded.
+     */
+    public void checkValue(String value) {
+    }
+
+    abstract OrderSpecifier<?> orderSpecifier(Order order);
+
+    abstract BooleanExpression after(String value, long id, boolean descending);
+
+    OrderSpecifier<?>[] orderBy(boolean descending) {
+        final Order order = descending ? Order.DESC : Order.ASC;
+        return this == ID
+                ? new OrderSpecifier<?>[] {orderSpecifier(order)}
+                : new OrderSpecifier<?>[] {orderSpecifier(order), new OrderSpecifier<>(order, task.id)};
+    }
+}
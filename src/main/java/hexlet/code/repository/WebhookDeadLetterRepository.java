@@ -0,0 +1,10 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.WebhookDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface WebhookDeadLetterRepository extends JpaRepository<WebhookDeadLetter, Long> {
+    List<WebhookDeadLetter> findAllBySubscriptionIdOrderById(long subscriptionId);
+}
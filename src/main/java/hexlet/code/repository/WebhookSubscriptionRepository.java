@@ -0,0 +1,12 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.WebhookSubscription;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WebhookSubscriptionRepository extends JpaRepository<WebhookSubscription, Long> {
+    List<WebhookSubscription> findAllByOwnerIdOrderById(Long ownerId);
+    Optional<WebhookSubscription> findByIdAndOwnerId(Long id, Long ownerId);
+}
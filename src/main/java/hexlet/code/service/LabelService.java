@@ -1,13 +1,20 @@
 package hexlet.code.service;
 
+import hexlet.code.component.ReferenceDataCache;
 import hexlet.code.dto.LabelDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.LabelChangedEvent;
 import hexlet.code.model.Label;
 import hexlet.code.repository.LabelRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -15,11 +22,15 @@ import java.util.List;
 public class LabelService {
 
     private final LabelRepository labelRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReferenceDataCache referenceDataCache;
 
     public Label createLabel(LabelDTO labelDto) {
         final Label newLabel = new Label();
         newLabel.setName(labelDto.name());
-        return labelRepository.save(newLabel);
+        final Label label = labelRepository.save(newLabel);
+        publish(ChangeType.CREATED, label);
+        return label;
     }
 
     public Label getLabelById(Long id) {
@@ -27,19 +38,41 @@ public class LabelService {
                 .orElseThrow();
     }
 
-    public List<Label> getAllLabels() {
-        return labelRepository.findAll();
+    public List<LabelDTO> getAllLabels() {
+        return referenceDataCache.labels().all();
+    }
+
+    public List<Label> getLabelsById(Collection<Long> ids) {
+        return labelRepository.findAllById(ids);
+    }
+
+    /**
+     * Checks the ids against the near-cache and returns uninitialized references, so no label row is read unless
+     * the near-cache doesn't know the label yet.
+     */
+    public Set<Label> getLabelReferences(Collection<Long> ids) {
+        referenceDataCache.labels().getAll(ids);
+        return ids.stream()
+                .map(labelRepository::getReferenceById)
+                .collect(Collectors.toSet());
     }
 
     public Label updateLabel(LabelDTO labelDto, Long id) {
         Label updateLabel = labelRepository.findById(id).get();
         updateLabel.setName(labelDto.name());
-        return labelRepository.save(updateLabel);
+        final Label label = labelRepository.save(updateLabel);
+        publish(ChangeType.UPDATED, label);
+        return label;
     }
 
     public void deleteLabel(Long id) {
         Label label = labelRepository.findById(id)
                 .orElseThrow();
         labelRepository.delete(label);
+        eventPublisher.publishEvent(new LabelChangedEvent(ChangeType.DELETED, id, null));
+    }
+
+    private void publish(ChangeType type, Label label) {
+        eventPublisher.publishEvent(new LabelChangedEvent(type, label.getId(), LabelDTO.toLabelDTO(label)));
     }
 }
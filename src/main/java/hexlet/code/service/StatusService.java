@@ -1,12 +1,17 @@
 package hexlet.code.service;
 
+import hexlet.code.component.ReferenceDataCache;
 import hexlet.code.dto.TaskStatusDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.StatusChangedEvent;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskStatusRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -14,31 +19,50 @@ import java.util.List;
 @AllArgsConstructor
 public class StatusService {
     private final TaskStatusRepository taskStatusRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReferenceDataCache referenceDataCache;
 
     public TaskStatus getStatus(long id) {
         return taskStatusRepository.findById(id)
                 .orElseThrow();
     }
 
-    public List<TaskStatus> getStatuses() {
-        return taskStatusRepository.findAll();
+    public List<TaskStatusDTO> getStatuses() {
+        return referenceDataCache.statuses().all();
+    }
+
+    public List<TaskStatus> getStatusesById(Collection<Long> ids) {
+        return taskStatusRepository.findAllById(ids);
+    }
+
+    public TaskStatus getStatusReference(long id) {
+        referenceDataCache.statuses().get(id).orElseThrow();
+        return taskStatusRepository.getReferenceById(id);
     }
 
     public TaskStatus createStatus(TaskStatusDTO taskStatusDto) {
         final TaskStatus taskStatus = new TaskStatus();
         taskStatus.setName(taskStatusDto.name());
         taskStatusRepository.save(taskStatus);
+        publish(ChangeType.CREATED, taskStatus);
         return taskStatus;
     }
 
     public TaskStatus updateStatus(TaskStatusDTO taskStatusDto, long id) {
         final TaskStatus taskStatus = getStatus(id);
         taskStatus.setName(taskStatusDto.name());
-        return taskStatusRepository.save(taskStatus);
+        final TaskStatus updatedStatus = taskStatusRepository.save(taskStatus);
+        publish(ChangeType.UPDATED, updatedStatus);
+        return updatedStatus;
     }
 
     public void deleteStatus(long id) {
         final TaskStatus taskStatus = getStatus(id);
         taskStatusRepository.delete(taskStatus);
+        eventPublisher.publishEvent(new StatusChangedEvent(ChangeType.DELETED, id, null));
+    }
+
+    private void publish(ChangeType type, TaskStatus status) {
+        eventPublisher.publishEvent(new StatusChangedEvent(type, status.getId(), TaskStatusDTO.toStatusDTO(status)));
     }
 }
@@ -0,0 +1,184 @@
+package hexlet.code.service;
+
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.dto.LabelDTO;
+import hexlet.code.dto.SyncCursor;
+import hexlet.code.dto.SyncResponse;
+import hexlet.code.dto.SyncResponse.Tombstone;
+import hexlet.code.dto.TaskCursor;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskPageRequest;
+import hexlet.code.dto.TaskStatusDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.LabelChangedEvent;
+import hexlet.code.event.StatusChangedEvent;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.model.ChangeLogEntry;
+import hexlet.code.repository.ChangeLogRepository;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskSortField;
+import hexlet.code.repository.TaskStatusRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Change log of tasks, labels and statuses and the delta sync served from it. Entries are written by plain event
+ * listeners, so they are part of the transaction that made the change and exist exactly when it commits.
+ * <p>
+ * Ids are taken on insert but become visible on commit, so a reader could see an id before a lower one commits.
+ * Only entries older than {@code sync.settle-time} are handed out, which is taken to be longer than the time from
+ * an insert to its commit. Compaction keeps the last entry per entity and drops tombstones older than
+ * {@code sync.retention}; a cursor that hasn't seen everything up to that age gets a snapshot instead.
+ */
+@Service
+@Transactional
+public class SyncService {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final TaskRepository taskRepository;
+    private final LabelRepository labelRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final Duration settleTime;
+    private final Duration retention;
+    private final int pageSize;
+
+    public SyncService(ChangeLogRepository changeLogRepository,
+                       TaskRepository taskRepository,
+                       LabelRepository labelRepository,
+                       TaskStatusRepository taskStatusRepository,
+                       @Value("${sync.settle-time:5s}") Duration settleTime,
+                       @Value("${sync.retention:30d}") Duration retention,
+                       @Value("${sync.page-size:1000}") int pageSize) {
+        this.changeLogRepository = changeLogRepository;
+        this.taskRepository = taskRepository;
+        this.labelRepository = labelRepository;
+        this.taskStatusRepository = taskStatusRepository;
+        this.settleTime = settleTime;
+        this.retention = retention;
+        this.pageSize = pageSize;
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        record(Resource.TASKS, event.type(), event.id());
+    }
+
+    @EventListener
+    public void onLabelChanged(LabelChangedEvent event) {
+        record(Resource.LABELS, event.type(), event.id());
+    }
+
+    @EventListener
+    public void onStatusChanged(StatusChangedEvent event) {
+        record(Resource.STATUSES, event.type(), event.id());
+    }
+
+    @Transactional(readOnly = true)
+    public SyncResponse sync(@Nullable SyncCursor since) {
+        final Instant now = Instant.now();
+        final Instant settled = now.minus(settleTime);
+        if (since == null || since.seenUntil().isBefore(now.minus(retention))) {
+            return snapshot(new SyncCursor(changeLogRepository.findLastSettledId(settled).orElse(0L), settled));
+        }
+        if (since.snapshotAfter() != null) {
+            return snapshot(since);
+        }
+
+        final List<ChangeLogEntry> entries = changeLogRepository.findSettled(since.id(), settled,
+                PageRequest.ofSize(pageSize + 1));
+        final boolean hasMore = entries.size() > pageSize;
+        final List<ChangeLogEntry> page = hasMore ? entries.subList(0, pageSize) : entries;
+        if (page.isEmpty()) {
+            return new SyncResponse(new SyncCursor(since.id(), settled).encode(), false, false,
+                    List.of(), List.of(), List.of(), List.of());
+        }
+
+        // Only the last change of each entity in the page matters.
+        final Map<Resource, Map<Long, ChangeType>> changes = new EnumMap<>(Resource.class);
+        for (ChangeLogEntry entry : page) {
+            changes.computeIfAbsent(entry.getResource(), resource -> new LinkedHashMap<>())
+                    .put(entry.getEntityId(), entry.getType());
+        }
+
+        final List<Tombstone> deleted = new ArrayList<>();
+        final List<TaskDTO> tasks = taskRepository.findAllById(upserts(changes, Resource.TASKS, deleted)).stream()
+                .map(TaskDTO::toTaskDTO)
+                .toList();
+        final List<LabelDTO> labels = labelRepository.findAllById(upserts(changes, Resource.LABELS, deleted))
+                .stream()
+                .map(LabelDTO::toLabelDTO)
+                .toList();
+        final List<TaskStatusDTO> statuses = taskStatusRepository
+                .findAllById(upserts(changes, Resource.STATUSES, deleted))
+                .stream()
+                .map(TaskStatusDTO::toStatusDTO)
+                .toList();
+
+        final ChangeLogEntry last = page.get(page.size() - 1);
+        // Entries past a full page may be older than the settle time, the client has seen them only up to the last.
+        final SyncCursor next = new SyncCursor(last.getId(), hasMore ? last.getCreatedAt() : settled);
+        return new SyncResponse(next.encode(), false, hasMore, tasks, labels, statuses, deleted);
+    }
+
+    @Scheduled(initialDelayString = "${sync.compaction-interval-ms:3600000}",
+            fixedDelayString = "${sync.compaction-interval-ms:3600000}")
+    public void compact() {
+        final Instant now = Instant.now();
+        changeLogRepository.deleteSuperseded(now.minus(settleTime));
+        changeLogRepository.deleteOlderThan(ChangeType.DELETED, now.minus(retention));
+    }
+
+    private void record(Resource resource, ChangeType type, long id) {
+        changeLogRepository.save(new ChangeLogEntry(null, resource, id, type, Instant.now()));
+    }
+
+    /**
+     * One page of a snapshot. The log position is read when the snapshot starts, so anything committed while its
+     * pages are loaded is sent again with the next sync rather than missed. Tasks come through the keyset query of
+     * the task list, labels and statuses are small and come whole with the first page.
+     */
+    private SyncResponse snapshot(SyncCursor position) {
+        final Long after = position.snapshotAfter();
+        final List<TaskDTO> tasks = taskRepository.findPage(null, new TaskPageRequest(pageSize, TaskSortField.ID,
+                false, after == null ? null : new TaskCursor(TaskSortField.ID, after, after.toString())));
+        final boolean hasMore = tasks.size() > pageSize;
+        final List<TaskDTO> page = hasMore ? tasks.subList(0, pageSize) : tasks;
+        final SyncCursor next = new SyncCursor(position.id(), position.seenUntil(),
+                hasMore ? page.get(page.size() - 1).id() : null);
+
+        final boolean first = after == null;
+        return new SyncResponse(next.encode(), true, hasMore, page,
+                first ? labelRepository.findAll().stream().map(LabelDTO::toLabelDTO).toList() : List.of(),
+                first ? taskStatusRepository.findAll().stream().map(TaskStatusDTO::toStatusDTO).toList() : List.of(),
+                List.of());
+    }
+
+    private static Collection<Long> upserts(Map<Resource, Map<Long, ChangeType>> changes,
+                                            Resource resource,
+                                            List<Tombstone> deleted) {
+        final List<Long> ids = new ArrayList<>();
+        changes.getOrDefault(resource, Map.of()).forEach((id, type) -> {
+            if (type == ChangeType.DELETED) {
+                deleted.add(new Tombstone(resource, id));
+            } else {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+}
@@ -0,0 +1,400 @@
+package hexlet.code.service;
+
+import hexlet.code.component.ReferenceDataCache;
+import hexlet.code.dto.TaskBatchRequest;
+import hexlet.code.dto.TaskBatchResult;
+import hexlet.code.dto.TaskBatchResult.Item;
+import hexlet.code.dto.TaskBatchResult.Operation;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.required.TaskRequiredDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.TaskChangedEvent;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+import hexlet.code.repository.TaskRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static hexlet.code.dto.TaskBatchRequest.orEmpty;
+
+/**
+ * Applies task creates, updates and deletes in one transaction. Items are checked up front, with referenced users,
+ * statuses and labels loaded in one query per type, and the writes go out as JDBC batches on flush. When the flush
+ * of a non-atomic batch fails, as it does for a row the database refuses or a task changed concurrently, the batch
+ * is rolled back and its items are written again one transaction each, so that item fails alone and every item
+ * reported as applied is committed. A task may appear once per batch.
+ */
+@Service
+public class TaskBatchService {
+
+    private final TaskRepository taskRepository;
+    private final LabelService labelService;
+    private final StatusService taskStatusService;
+    private final UserService userService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReferenceDataCache referenceDataCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int maxSize;
+
+    public TaskBatchService(TaskRepository taskRepository,
+                            LabelService labelService,
+                            StatusService taskStatusService,
+                            UserService userService,
+                            Validator validator,
+                            ApplicationEventPublisher eventPublisher,
+                            ReferenceDataCache referenceDataCache,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${tasks.batch.max-size:1000}") int maxSize) {
+        this.taskRepository = taskRepository;
+        this.labelService = labelService;
+        this.taskStatusService = taskStatusService;
+        this.userService = userService;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.referenceDataCache = referenceDataCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.maxSize = maxSize;
+    }
+
+    public TaskBatchResult apply(TaskBatchRequest request) {
+        if (request.size() > maxSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch must not exceed " + maxSize + " items");
+        }
+        if (request.atomic()) {
+            return transactionTemplate.execute(status -> applyAtomically(plan(request)));
+        }
+        try {
+            return transactionTemplate.execute(status -> write(plan(request)));
+        } catch (OptimisticLockingFailureException | DataIntegrityViolationException | ConstraintViolationException e) {
+            return applyEach(readOnlyTransactionTemplate.execute(status -> plan(request)));
+        }
+    }
+
+    private TaskBatchResult applyEach(Plan plan) {
+        final List<Item> items = new ArrayList<>(plan.failures());
+        plan.creates().forEach((i, dto) ->
+                items.add(applyItem(Operation.CREATE, i, null, () -> create(i, dto, plan.author()))));
+        plan.updates().forEach((i, update) ->
+                items.add(applyItem(Operation.UPDATE, i, update.id(), () -> update(i, update))));
+        plan.deletes().forEach((i, id) ->
+                items.add(applyItem(Operation.DELETE, i, id, () -> delete(i, id))));
+        return new TaskBatchResult(true, sorted(items));
+    }
+
+    private Plan plan(TaskBatchRequest request) {
+        final List<TaskRequiredDTO> creates = orEmpty(request.create());
+        final List<TaskBatchRequest.Update> updates = orEmpty(request.update());
+        final List<Long> deletes = orEmpty(request.delete());
+
+        final User author = userService.getCurrentUser();
+        final References references = resolve(Stream.concat(
+                creates.stream(),
+                updates.stream().map(TaskBatchRequest.Update::task).filter(Objects::nonNull)));
+        final Map<Long, Long> occurrences = Stream.concat(
+                        updates.stream().map(TaskBatchRequest.Update::id),
+                        deletes.stream())
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        final Map<Long, Task> tasks = taskRepository.findAllByIdIn(occurrences.keySet())
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        final Set<Long> repeated = occurrences.entrySet().stream()
+                .filter(entry -> entry.getValue() > 1)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+
+        final List<Item> failures = new ArrayList<>();
+        final Map<Integer, TaskRequiredDTO> pendingCreates = new LinkedHashMap<>();
+        for (int i = 0; i < creates.size(); i++) {
+            final Item failure = check(Operation.CREATE, i, null, creates.get(i), references);
+            if (failure == null) {
+                pendingCreates.put(i, creates.get(i));
+            } else {
+                failures.add(failure);
+            }
+        }
+
+        final Map<Integer, TaskBatchRequest.Update> pendingUpdates = new LinkedHashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            final TaskBatchRequest.Update update = updates.get(i);
+            Item failure = checkTask(Operation.UPDATE, i, update.id(), tasks, repeated, author);
+            if (failure == null) {
+                failure = check(Operation.UPDATE, i, update.id(), update.task(), references);
+            }
+            if (failure == null) {
+                pendingUpdates.put(i, update);
+            } else {
+                failures.add(failure);
+            }
+        }
+
+        final Map<Integer, Long> pendingDeletes = new LinkedHashMap<>();
+        for (int i = 0; i < deletes.size(); i++) {
+            final Item failure = checkTask(Operation.DELETE, i, deletes.get(i), tasks, repeated, author);
+            if (failure == null) {
+                pendingDeletes.put(i, deletes.get(i));
+            } else {
+                failures.add(failure);
+            }
+        }
+
+        return new Plan(author, references, tasks, failures, pendingCreates, pendingUpdates, pendingDeletes);
+    }
+
+    private TaskBatchResult applyAtomically(Plan plan) {
+        if (!plan.failures().isEmpty()) {
+            final List<Item> items = new ArrayList<>(plan.failures());
+            plan.creates().keySet().forEach(i -> items.add(notApplied(Operation.CREATE, i, null)));
+            plan.updates().forEach((i, update) -> items.add(notApplied(Operation.UPDATE, i, update.id())));
+            plan.deletes().forEach((i, id) -> items.add(notApplied(Operation.DELETE, i, id)));
+            return new TaskBatchResult(false, sorted(items));
+        }
+        return write(plan);
+    }
+
+    /**
+     * Writes the planned items and reports them along with the failures of the plan.
+     */
+    private TaskBatchResult write(Plan plan) {
+        final Map<Integer, Task> created = new LinkedHashMap<>();
+        plan.creates().forEach((i, dto) -> created.put(i, merge(new Task(), dto, plan.references())));
+        created.values().forEach(task -> task.setAuthor(plan.author()));
+        taskRepository.saveAll(created.values());
+
+        final Map<Task, TaskDTO> updated = new LinkedHashMap<>();
+        for (TaskBatchRequest.Update update : plan.updates().values()) {
+            final Task task = plan.tasks().get(update.id());
+            final TaskDTO previous = TaskDTO.toTaskDTO(task);
+            updated.put(merge(task, update.task(), plan.references()), previous);
+        }
+
+        taskRepository.deleteAll(plan.deletes().values().stream().map(plan.tasks()::get).toList());
+        taskRepository.flush();
+
+        created.values().forEach(task -> publish(ChangeType.CREATED, task, null));
+        updated.forEach((task, previous) -> publish(ChangeType.UPDATED, task, previous));
+        plan.deletes().values().forEach(id ->
+                eventPublisher.publishEvent(new TaskChangedEvent(ChangeType.DELETED, id, null, null)));
+
+        final List<Item> items = new ArrayList<>(plan.failures());
+        created.forEach((i, task) -> items.add(new Item(Operation.CREATE, i, task.getId(), 201, null)));
+        plan.updates().forEach((i, update) -> items.add(new Item(Operation.UPDATE, i, update.id(), 200, null)));
+        plan.deletes().forEach((i, id) -> items.add(new Item(Operation.DELETE, i, id, 204, null)));
+        return new TaskBatchResult(true, sorted(items));
+    }
+
+    /**
+     * Writes one item in its own transaction, for a batch whose single flush failed. Its event is published inside
+     * it, so listeners only hear about items that commit. References are loaded again within it: labels are
+     * cascaded and must not be detached.
+     */
+    private Item applyItem(Operation operation, int index, Long id, Supplier<Item> write) {
+        try {
+            return transactionTemplate.execute(status -> write.get());
+        } catch (OptimisticLockingFailureException e) {
+            return new Item(operation, index, id, 409, "Task was changed concurrently");
+        } catch (DataIntegrityViolationException e) {
+            return new Item(operation, index, id, 422, "Task violates a database constraint");
+        } catch (ConstraintViolationException e) {
+            return new Item(operation, index, id, 422, messages(e.getConstraintViolations()));
+        }
+    }
+
+    private Item create(int index, TaskRequiredDTO dto, User author) {
+        final References references = resolve(Stream.of(dto));
+        final Item failure = check(Operation.CREATE, index, null, dto, references);
+        if (failure != null) {
+            return failure;
+        }
+        final Task task = merge(new Task(), dto, references);
+        task.setAuthor(author);
+        taskRepository.saveAndFlush(task);
+        publish(ChangeType.CREATED, task, null);
+        return new Item(Operation.CREATE, index, task.getId(), 201, null);
+    }
+
+    private Item update(int index, TaskBatchRequest.Update update) {
+        final Task task = taskRepository.findById(update.id()).orElse(null);
+        if (task == null) {
+            return missing(Operation.UPDATE, index, update.id());
+        }
+        final References references = resolve(Stream.of(update.task()));
+        final Item failure = check(Operation.UPDATE, index, update.id(), update.task(), references);
+        if (failure != null) {
+            return failure;
+        }
+        final TaskDTO previous = TaskDTO.toTaskDTO(task);
+        merge(task, update.task(), references);
+        taskRepository.flush();
+        publish(ChangeType.UPDATED, task, previous);
+        return new Item(Operation.UPDATE, index, update.id(), 200, null);
+    }
+
+    private Item delete(int index, long id) {
+        final Task task = taskRepository.findById(id).orElse(null);
+        if (task == null) {
+            return missing(Operation.DELETE, index, id);
+        }
+        taskRepository.delete(task);
+        taskRepository.flush();
+        eventPublisher.publishEvent(new TaskChangedEvent(ChangeType.DELETED, id, null, null));
+        return new Item(Operation.DELETE, index, id, 204, null);
+    }
+
+    private References resolve(Stream<TaskRequiredDTO> tasks) {
+        final Set<Long> userIds = new HashSet<>();
+        final Set<Long> statusIds = new HashSet<>();
+        final Set<Long> labelIds = new HashSet<>();
+        tasks.forEach(task -> {
+            if (task.executorId() != null) {
+                userIds.add(task.executorId());
+            }
+            if (task.taskStatusId() != null) {
+                statusIds.add(task.taskStatusId());
+            }
+            if (task.labelIds() != null) {
+                labelIds.addAll(task.labelIds());
+            }
+        });
+
+        return new References(
+                byId(userIds, userService::getUsersById, User::getId),
+                byId(statusIds, taskStatusService::getStatusesById, TaskStatus::getId),
+                byId(labelIds, labelService::getLabelsById, Label::getId));
+    }
+
+    private static <T> Map<Long, T> byId(Set<Long> ids,
+                                         Function<Collection<Long>, List<T>> loader,
+                                         Function<T, Long> idOf) {
+        return ids.isEmpty()
+                ? Map.of()
+                : loader.apply(ids).stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    private Item check(Operation operation, int index, Long id, TaskRequiredDTO dto, References references) {
+        if (dto == null) {
+            return new Item(operation, index, id, 422, "Task is required");
+        }
+
+        final Set<ConstraintViolation<TaskRequiredDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return new Item(operation, index, id, 422, messages(violations));
+        }
+        if (dto.executorId() == null) {
+            return new Item(operation, index, id, 422, "Executor is required");
+        }
+        if (!references.users().containsKey(dto.executorId())) {
+            return new Item(operation, index, id, 404, "No such executor: " + dto.executorId());
+        }
+        if (!references.statuses().containsKey(dto.taskStatusId())) {
+            return new Item(operation, index, id, 404, "No such task status: " + dto.taskStatusId());
+        }
+
+        return labelIds(dto).stream()
+                .filter(labelId -> !references.labels().containsKey(labelId))
+                .findFirst()
+                .map(labelId -> new Item(operation, index, id, 404, "No such label: " + labelId))
+                .orElse(null);
+    }
+
+    private static Item checkTask(Operation operation,
+                                  int index,
+                                  Long id,
+                                  Map<Long, Task> tasks,
+                                  Set<Long> repeated,
+                                  User author) {
+        final Task task = id == null ? null : tasks.get(id);
+        if (task == null) {
+            return missing(operation, index, id);
+        }
+        if (repeated.contains(id)) {
+            return new Item(operation, index, id, 409, "Task appears more than once in the batch: " + id);
+        }
+        if (!task.getAuthor().getId().equals(author.getId())) {
+            return new Item(operation, index, id, 403, "Only the author can change the task");
+        }
+        return null;
+    }
+
+    private static Task merge(Task task, TaskRequiredDTO dto, References references) {
+        task.setName(dto.name());
+        task.setDescription(dto.description());
+        task.setExecutor(references.users().get(dto.executorId()));
+        task.setTaskStatus(references.statuses().get(dto.taskStatusId()));
+        task.setLabels(labelIds(dto).stream()
+                .map(references.labels()::get)
+                .collect(Collectors.toSet()));
+        return task;
+    }
+
+    private static Set<Long> labelIds(TaskRequiredDTO dto) {
+        return dto.labelIds() == null ? Set.of() : dto.labelIds();
+    }
+
+    private void publish(ChangeType type, Task task, TaskDTO previous) {
+        eventPublisher.publishEvent(new TaskChangedEvent(type, task.getId(), referenceDataCache.toTaskDTO(task),
+                previous));
+    }
+
+    private static String messages(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static Item missing(Operation operation, int index, Long id) {
+        return new Item(operation, index, id, 404, "No such task: " + id);
+    }
+
+    private static Item notApplied(Operation operation, int index, Long id) {
+        return new Item(operation, index, id, 424, "Batch is not applied");
+    }
+
+    private static List<Item> sorted(List<Item> items) {
+        items.sort(Comparator.comparing(Item::operation).thenComparingInt(Item::index));
+        return items;
+    }
+
+    private record Plan(User author,
+                        References references,
+                        Map<Long, Task> tasks,
+                        List<Item> failures,
+                        Map<Integer, TaskRequiredDTO> creates,
+                        Map<Integer, TaskBatchRequest.Update> updates,
+                        Map<Integer, Long> deletes) {
+    }
+
+    private record References(Map<Long, User> users, Map<Long, TaskStatus> statuses, Map<Long, Label> labels) {
+    }
+}
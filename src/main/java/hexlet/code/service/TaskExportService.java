@@ -0,0 +1,120 @@
+package hexlet.code.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.LabelDTO;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.UserDTO;
+import hexlet.code.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Service
+@Transactional(readOnly = true)
+public class TaskExportService {
+
+    private static final String CSV_HEADER = "id,name,description,author,executor,taskStatus,labels,createdAt";
+    private static final String LABEL_SEPARATOR = ";";
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public TaskExportService(final TaskRepository taskRepository,
+                             final ObjectMapper objectMapper,
+                             @Value("${tasks.export.fetch-size:500}") final int fetchSize) {
+        this.taskRepository = taskRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    public void export(Predicate predicate, Format format, OutputStream outputStream) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try {
+            taskRepository.forEach(predicate, fetchSize, task -> write(writer, format, task));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void write(Writer writer, Format format, TaskDTO task) {
+        try {
+            writer.write(format == Format.CSV ? toCsv(task) : objectMapper.writeValueAsString(task));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toCsv(TaskDTO task) {
+        final String labels = task.labels() == null ? "" : task.labels().stream()
+                .map(LabelDTO::name)
+                .sorted()
+                .collect(Collectors.joining(LABEL_SEPARATOR));
+
+        return String.join(",",
+                String.valueOf(task.id()),
+                escape(task.name()),
+                escape(task.description()),
+                escape(email(task.author())),
+                escape(email(task.executor())),
+                escape(task.taskStatus() == null ? null : task.taskStatus().name()),
+                escape(labels),
+                task.createdAt() == null ? "" : task.createdAt().toInstant().toString());
+    }
+
+    private static String email(UserDTO user) {
+        return user == null ? null : user.getEmail();
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    public enum Format {
+        NDJSON(MediaType.APPLICATION_NDJSON),
+        CSV(new MediaType("text", "csv", UTF_8));
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Optional<Format> fromName(String name) {
+            return Arrays.stream(values())
+                    .filter(format -> format.name().equalsIgnoreCase(name))
+                    .findFirst();
+        }
+    }
+}
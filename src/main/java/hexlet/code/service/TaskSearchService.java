@@ -0,0 +1,184 @@
+package hexlet.code.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.component.TaskBitmapIndex;
+import hexlet.code.component.TaskSearchIndex;
+import hexlet.code.dto.KeysetPage;
+import hexlet.code.dto.TaskCursor;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFilter;
+import hexlet.code.dto.TaskPageRequest;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.OutboxEvent;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskSortField;
+import lombok.AllArgsConstructor;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves task queries from the in-memory indexes. The indexes pick and order candidate ids, the database is
+ * only asked for the rows of the page, chunk by chunk, with the request predicate applied on top.
+ * <p>
+ * The indexes are loaded on startup and follow this instance's writes as they commit. Writes of every instance
+ * reach them through the outbox as well, which is how other instances' changes get in.
+ */
+@Service
+@Transactional(readOnly = true)
+@AllArgsConstructor
+public class TaskSearchService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final TaskSearchIndex searchIndex;
+    private final TaskBitmapIndex bitmapIndex;
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndexes() {
+        searchIndex.clear();
+        bitmapIndex.clear();
+        taskRepository.forEach(null, CHUNK_SIZE, task -> {
+            searchIndex.put(task.id(), task.name(), task.description());
+            bitmapIndex.put(task);
+        });
+    }
+
+    /**
+     * A message can carry an older state than the index already has from this instance's own commit; the messages
+     * after it bring the index back to the latest one.
+     */
+    @EventListener
+    public void onOutboxEvent(OutboxEvent event) {
+        if (event.aggregate() != Resource.TASKS) {
+            return;
+        }
+        if (event.type() == ChangeType.DELETED) {
+            searchIndex.remove(event.aggregateId());
+            bitmapIndex.remove(event.aggregateId());
+        } else {
+            final TaskDTO task = event.state(objectMapper, TaskDTO.class);
+            searchIndex.put(task.id(), task.name(), task.description());
+            bitmapIndex.put(task);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit + 1} ranked hits after skipping {@code offset} of them.
+     */
+    public List<TaskDTO> search(String query, Predicate predicate, int offset, int limit) {
+        final PrimitiveIterator.OfLong ranked = searchIndex.search(query).stream()
+                .mapToLong(Long::longValue)
+                .iterator();
+        return load(ranked, predicate, offset, limit);
+    }
+
+    /**
+     * Whether {@link #filter} sees every task, see {@link TaskBitmapIndex#isComplete()}.
+     */
+    public boolean canFilter() {
+        return bitmapIndex.isComplete();
+    }
+
+    /**
+     * Pages through tasks matching the filter in id order. Only {@link TaskSortField#ID} is supported,
+     * the bitmaps keep no other order.
+     */
+    public KeysetPage<TaskDTO> filter(TaskFilter filter, Predicate predicate, TaskPageRequest pageRequest) {
+        final RoaringBitmap candidates = bitmapIndex.filter(filter);
+        if (pageRequest.after() != null) {
+            // A cursor can name any id, the bitmap only takes ranges within its own.
+            final long afterId = pageRequest.after().id();
+            if (pageRequest.descending()) {
+                if (afterId < TaskBitmapIndex.MAX_TASK_ID) {
+                    candidates.remove(Math.max(afterId, 0L), TaskBitmapIndex.MAX_TASK_ID);
+                }
+            } else if (afterId >= 0) {
+                candidates.remove(0L, Math.min(afterId + 1, TaskBitmapIndex.MAX_TASK_ID));
+            }
+        }
+
+        final IntIterator ids = pageRequest.descending()
+                ? candidates.getReverseIntIterator()
+                : candidates.getIntIterator();
+        final List<TaskDTO> tasks = load(toLongIterator(ids), predicate, 0, pageRequest.limit());
+        if (tasks.size() <= pageRequest.limit()) {
+            return new KeysetPage<>(tasks, null);
+        }
+
+        final List<TaskDTO> page = tasks.subList(0, pageRequest.limit());
+        final TaskDTO last = page.get(page.size() - 1);
+        return new KeysetPage<>(page, TaskCursor.of(TaskSortField.ID, last).encode());
+    }
+
+    private List<TaskDTO> load(PrimitiveIterator.OfLong ids, Predicate predicate, int offset, int limit) {
+        final boolean filtered = isFiltered(predicate);
+        final List<TaskDTO> result = new ArrayList<>(limit + 1);
+
+        int skipped = 0;
+        if (!filtered) {
+            while (skipped < offset && ids.hasNext()) {
+                ids.nextLong();
+                skipped++;
+            }
+        }
+
+        while (ids.hasNext() && result.size() <= limit) {
+            final List<Long> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (ids.hasNext() && chunk.size() < CHUNK_SIZE) {
+                chunk.add(ids.nextLong());
+            }
+
+            final Map<Long, TaskDTO> found = taskRepository.findAllById(predicate, chunk).stream()
+                    .collect(Collectors.toMap(TaskDTO::id, Function.identity()));
+            for (Long id : chunk) {
+                final TaskDTO task = found.get(id);
+                if (task == null) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                    continue;
+                }
+                result.add(task);
+                if (result.size() > limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static PrimitiveIterator.OfLong toLongIterator(IntIterator ids) {
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public long nextLong() {
+                return TaskBitmapIndex.toTaskId(ids.next());
+            }
+
+            @Override
+            public boolean hasNext() {
+                return ids.hasNext();
+            }
+        };
+    }
+
+    private static boolean isFiltered(Predicate predicate) {
+        return predicate != null && !(predicate instanceof BooleanBuilder builder && !builder.hasValue());
+    }
+}
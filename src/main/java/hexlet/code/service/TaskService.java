@@ -1,21 +1,27 @@
 package hexlet.code.service;
 
 import com.querydsl.core.types.Predicate;
+import hexlet.code.component.ReferenceDataCache;
+import hexlet.code.dto.KeysetPage;
+import hexlet.code.dto.TaskCursor;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskPageRequest;
 import hexlet.code.dto.required.TaskRequiredDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.TaskChangedEvent;
 import hexlet.code.model.Label;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.model.Task;
 import hexlet.code.model.User;
 import hexlet.code.repository.TaskRepository;
 import lombok.AllArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -25,10 +31,15 @@ public class TaskService {
     private final LabelService labelService;
     private final StatusService taskStatusService;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReferenceDataCache referenceDataCache;
 
-
-    public Task createTask(TaskRequiredDTO taskDto) {
-        return taskRepository.save(buildTask(taskDto));
+    /**
+     * Returns the created task mapped from the reference snapshots, the same state its event carries.
+     */
+    public TaskDTO createTask(TaskRequiredDTO taskDto) {
+        final Task task = taskRepository.save(buildTask(taskDto));
+        return publish(ChangeType.CREATED, task, null);
     }
 
     public Task getTaskById(Long id) {
@@ -36,42 +47,60 @@ public class TaskService {
                 .orElseThrow();
     }
 
-    public List<Task> getAllTasks(Predicate predicate) {
-        return predicate == null ? taskRepository.findAllByOrderByIdAsc()
-                         : taskRepository.findAll(predicate, Sort.by(Sort.Direction.ASC, "id"));
+    @Transactional(readOnly = true)
+    public long getTaskVersion(long id) {
+        return taskRepository.findVersionById(id)
+                .orElseThrow();
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<TaskDTO> getAllTasks(Predicate predicate, TaskPageRequest pageRequest) {
+        final List<TaskDTO> tasks = taskRepository.findPage(predicate, pageRequest);
+        if (tasks.size() <= pageRequest.limit()) {
+            return new KeysetPage<>(tasks, null);
+        }
+
+        final List<TaskDTO> page = tasks.subList(0, pageRequest.limit());
+        final TaskDTO last = page.get(page.size() - 1);
+        return new KeysetPage<>(page, TaskCursor.of(pageRequest.sort(), last).encode());
     }
 
-    public Task updateTask(TaskRequiredDTO taskDto, Long id) {
+    public TaskDTO updateTask(TaskRequiredDTO taskDto, Long id) {
         Task temporaryTask = buildTask(taskDto);
         final Task task = taskRepository.findById(id)
                 .orElseThrow();
+        final TaskDTO previous = TaskDTO.toTaskDTO(task);
         task.setName(temporaryTask.getName());
         task.setDescription(temporaryTask.getDescription());
         task.setExecutor(temporaryTask.getExecutor());
         task.setTaskStatus(temporaryTask.getTaskStatus());
         task.setLabels(temporaryTask.getLabels());
-        return taskRepository.save(task);
+        final Task updatedTask = taskRepository.save(task);
+        return publish(ChangeType.UPDATED, updatedTask, previous);
     }
 
     public void deleteTask(long id) {
         final Task task = taskRepository.findById(id)
                 .orElseThrow();
         taskRepository.delete(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(ChangeType.DELETED, id, null, null));
+    }
+
+    private TaskDTO publish(ChangeType type, Task task, TaskDTO previous) {
+        final TaskDTO state = referenceDataCache.toTaskDTO(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(type, task.getId(), state, previous));
+        return state;
     }
 
     private Task buildTask(TaskRequiredDTO taskDto) {
         final User author = userService.getCurrentUser();
-        final User executor = userService.getUserById(taskDto.executorId());
+        final User executor = userService.getUserReference(taskDto.executorId());
 
         final TaskStatus status = Optional.ofNullable(taskDto.taskStatusId())
-                .map(taskStatusService::getStatus)
+                .map(taskStatusService::getStatusReference)
                 .orElse(null);
 
-
-        final Set<Label> labels = taskDto.labelIds()
-                                      .stream()
-                                      .map(labelService::getLabelById)
-                                      .collect(Collectors.toSet());
+        final Set<Label> labels = labelService.getLabelReferences(taskDto.labelIds());
 
         return Task.builder()
                 .author(author)
@@ -0,0 +1,58 @@
+package hexlet.code.service;
+
+import hexlet.code.component.JWTHelper;
+import hexlet.code.component.TokenRevocationList;
+import hexlet.code.config.security.TokenDetails;
+import hexlet.code.config.security.UserPrincipal;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+@Service
+@AllArgsConstructor
+public class TokenService {
+
+    private final JWTHelper jwtHelper;
+    private final TokenRevocationList tokenRevocationList;
+
+    /**
+     * Revokes the token the current request was authenticated with.
+     */
+    public void revokeCurrentToken() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!(authentication.getDetails() instanceof TokenDetails details)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Token can't be revoked");
+        }
+        revoke(details);
+    }
+
+    /**
+     * Revokes another token of the current user, e.g. one issued to a different device.
+     */
+    public void revokeToken(String token) {
+        final Map<String, Object> claims;
+        try {
+            claims = jwtHelper.verify(token);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Token is not valid");
+        }
+
+        final String owner = UserPrincipal.fromClaims(claims).getEmail();
+        if (!owner.equals(SecurityContextHolder.getContext().getAuthentication().getName())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Token belongs to another user");
+        }
+        revoke(TokenDetails.fromClaims(claims));
+    }
+
+    private void revoke(TokenDetails details) {
+        if (details.id() == null || details.expiresAt() == null) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Token can't be revoked");
+        }
+        tokenRevocationList.revoke(details.id(), details.expiresAt());
+    }
+}
@@ -1,58 +1,155 @@
 package hexlet.code.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.ReferenceDataCache;
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.component.UserDirectoryIndex;
+import hexlet.code.config.security.UserPrincipal;
+import hexlet.code.dto.KeysetPage;
+import hexlet.code.dto.UserDTO;
 import hexlet.code.dto.required.UserRequiredDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.OutboxEvent;
+import hexlet.code.event.UserChangedEvent;
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @Transactional
 @AllArgsConstructor
 public class UserService {
 
+    private static final Comparator<UserDTO> BY_ID = Comparator.comparing(UserDTO::getId);
+
     private UserRepository userRepository;
 
     private PasswordEncoder passwordEncoder;
 
+    private ApplicationEventPublisher eventPublisher;
+
+    private ReferenceDataCache referenceDataCache;
+
+    private UserDirectoryIndex userDirectoryIndex;
+
+    private ObjectMapper objectMapper;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildDirectory() {
+        userDirectoryIndex.clear();
+        referenceDataCache.users().all().forEach(userDirectoryIndex::put);
+    }
+
+    /**
+     * Keeps the directory in step with users written by other instances. A message can carry an older state than
+     * the directory already has from this instance's own commit; the messages after it bring it back to the latest.
+     */
+    @EventListener
+    public void onOutboxEvent(OutboxEvent event) {
+        if (event.aggregate() != Resource.USERS) {
+            return;
+        }
+        if (event.type() == ChangeType.DELETED) {
+            userDirectoryIndex.remove(event.aggregateId());
+        } else {
+            userDirectoryIndex.put(event.state(objectMapper, UserDTO.class));
+        }
+    }
+
     public User getUserById(long id) {
         return userRepository.findById(id)
                 .orElseThrow();
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public List<UserDTO> getAllUsers() {
+        return referenceDataCache.users().all();
     }
 
-    public User createUser(UserRequiredDTO userDto) {
-        final User user = new User();
+    /**
+     * Returns up to {@code limit} users in id order, starting after the user with id {@code after}.
+     */
+    public KeysetPage<UserDTO> getUsers(Long after, int limit) {
+        final List<UserDTO> users = referenceDataCache.users().all();
+        int from = 0;
+        if (after != null) {
+            final int position = Collections.binarySearch(users, new UserDTO(after), BY_ID);
+            from = position >= 0 ? position + 1 : -position - 1;
+        }
+
+        final int to = Math.min(users.size(), from + limit);
+        final List<UserDTO> page = users.subList(from, to);
+        return new KeysetPage<>(page, to < users.size() ? String.valueOf(page.get(page.size() - 1).getId()) : null);
+    }
 
-        return userRepository.save(merge(user, userDto));
+    public List<UserDTO> suggestUsers(String prefix, int limit) {
+        return userDirectoryIndex.suggest(prefix, limit).stream()
+                .map(id -> referenceDataCache.users().get(id))
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    public List<User> getUsersById(Collection<Long> ids) {
+        return userRepository.findAllById(ids);
+    }
+
+    public User getUserReference(long id) {
+        referenceDataCache.users().get(id).orElseThrow();
+        return userRepository.getReferenceById(id);
+    }
+
+    public User createUser(UserRequiredDTO userDto) {
+        final User user = userRepository.save(merge(new User(), userDto));
+        publish(ChangeType.CREATED, user);
+        return user;
     }
 
     public User updateUser(final long id, final UserRequiredDTO userDto) {
         final User userToUpdate = userRepository.findById(id).get();
 
-        return userRepository.save(merge(userToUpdate, userDto));
+        final User user = userRepository.save(merge(userToUpdate, userDto));
+        publish(ChangeType.UPDATED, user);
+        return user;
     }
 
     public void deleteUser(long id) {
         final User userToDelete = userRepository.findById(id).get();
         userRepository.delete(userToDelete);
+        eventPublisher.publishEvent(new UserChangedEvent(ChangeType.DELETED, id, null));
     }
+
     public String getCurrentUserId() {
         return SecurityContextHolder.getContext().getAuthentication().getName();
     }
 
+    /**
+     * Returns an uninitialized reference when the token carries the user id, so writes that only need the current
+     * user as an association don't read the user row.
+     */
     public User getCurrentUser() {
+        final Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (principal instanceof UserPrincipal user && user.getId() != null) {
+            return userRepository.getReferenceById(user.getId());
+        }
         return userRepository.findByEmail(getCurrentUserId()).get();
     }
 
+    private void publish(ChangeType type, User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(type, user.getId(), UserDTO.toUserDTO(user)));
+    }
+
     private User merge(User user, UserRequiredDTO userDto) {
         user.setEmail(userDto.email());
         user.setFirstName(userDto.firstName());
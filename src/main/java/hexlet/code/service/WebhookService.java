@@ -0,0 +1,139 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.WebhookDeadLetterDTO;
+import hexlet.code.dto.WebhookSubscriptionDTO;
+import hexlet.code.dto.required.WebhookSubscriptionRequiredDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.WebhookSubscriptionChangedEvent;
+import hexlet.code.model.WebhookSubscription;
+import hexlet.code.repository.WebhookDeadLetterRepository;
+import hexlet.code.repository.WebhookSubscriptionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
+
+/**
+ * Webhook subscriptions of the current user. Another user's subscription is reported as missing.
+ * <p>
+ * Anyone can register, so a URL has to resolve to public addresses only; otherwise the server could be made to
+ * post task data to itself, its cloud metadata endpoint or the internal network. {@code
+ * webhooks.allow-private-addresses} lifts this for local receivers.
+ */
+@Service
+@Transactional
+public class WebhookService {
+
+    private final WebhookSubscriptionRepository webhookSubscriptionRepository;
+    private final WebhookDeadLetterRepository webhookDeadLetterRepository;
+    private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean allowPrivateAddresses;
+
+    public WebhookService(WebhookSubscriptionRepository webhookSubscriptionRepository,
+                          WebhookDeadLetterRepository webhookDeadLetterRepository,
+                          UserService userService,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${webhooks.allow-private-addresses:false}") boolean allowPrivateAddresses) {
+        this.webhookSubscriptionRepository = webhookSubscriptionRepository;
+        this.webhookDeadLetterRepository = webhookDeadLetterRepository;
+        this.userService = userService;
+        this.eventPublisher = eventPublisher;
+        this.allowPrivateAddresses = allowPrivateAddresses;
+    }
+
+    public WebhookSubscriptionDTO createSubscription(WebhookSubscriptionRequiredDTO dto) {
+        if (!allowPrivateAddresses) {
+            checkPublic(dto.url());
+        }
+        final WebhookSubscription subscription = new WebhookSubscription();
+        subscription.setUrl(dto.url());
+        subscription.setEvents(new HashSet<>(dto.events()));
+        subscription.setOwner(userService.getCurrentUser());
+        final WebhookSubscriptionDTO saved = WebhookSubscriptionDTO.toWebhookSubscriptionDTO(
+                webhookSubscriptionRepository.save(subscription));
+        eventPublisher.publishEvent(new WebhookSubscriptionChangedEvent(ChangeType.CREATED, saved.id(), saved));
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public List<WebhookSubscriptionDTO> getSubscriptions() {
+        return webhookSubscriptionRepository.findAllByOwnerIdOrderById(userService.getCurrentUser().getId()).stream()
+                .map(WebhookSubscriptionDTO::toWebhookSubscriptionDTO)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<WebhookSubscriptionDTO> getAllSubscriptions() {
+        return webhookSubscriptionRepository.findAll().stream()
+                .map(WebhookSubscriptionDTO::toWebhookSubscriptionDTO)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<WebhookDeadLetterDTO> getDeadLetters(long id) {
+        final WebhookSubscription subscription = getOwnSubscription(id);
+        return webhookDeadLetterRepository.findAllBySubscriptionIdOrderById(subscription.getId()).stream()
+                .map(WebhookDeadLetterDTO::toWebhookDeadLetterDTO)
+                .toList();
+    }
+
+    public void deleteSubscription(long id) {
+        final WebhookSubscription subscription = getOwnSubscription(id);
+        webhookDeadLetterRepository.deleteAll(
+                webhookDeadLetterRepository.findAllBySubscriptionIdOrderById(subscription.getId()));
+        webhookSubscriptionRepository.delete(subscription);
+        eventPublisher.publishEvent(new WebhookSubscriptionChangedEvent(ChangeType.DELETED, id, null));
+    }
+
+    private WebhookSubscription getOwnSubscription(long id) {
+        return webhookSubscriptionRepository.findByIdAndOwnerId(id, userService.getCurrentUser().getId())
+                .orElseThrow();
+    }
+
+    private static void checkPublic(String url) {
+        final String host;
+        try {
+            host = URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(UNPROCESSABLE_ENTITY, "Malformed webhook URL");
+        }
+        if (host == null) {
+            throw new ResponseStatusException(UNPROCESSABLE_ENTITY, "Webhook URL has no host");
+        }
+        final InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(host);
+        } catch (UnknownHostException e) {
+            throw new ResponseStatusException(UNPROCESSABLE_ENTITY, "Webhook host can't be resolved");
+        }
+        for (InetAddress address : addresses) {
+            if (!isPublic(address)) {
+                throw new ResponseStatusException(UNPROCESSABLE_ENTITY, "Webhook host must have a public address");
+            }
+        }
+    }
+
+    private static boolean isPublic(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+        final byte[] bytes = address.getAddress();
+        if (bytes.length == 4) {
+            // Carrier-grade NAT, 100.64.0.0/10.
+            return !((bytes[0] & 0xff) == 100 && (bytes[1] & 0xc0) == 64);
+        }
+        // Unique local IPv6, fc00::/7.
+        return (bytes[0] & 0xfe) != 0xfc;
+    }
+}
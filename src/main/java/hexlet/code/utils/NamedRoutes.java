@@ -5,6 +5,12 @@ public class NamedRoutes {
     public static final String USERS_PATH = "/users";
     public static final String STATUSES_PATH = "/statuses";
     public static final String TASKS_PATH = "/tasks";
+    public static final String LOGOUT_PATH = "/logout";
+    public static final String TOKENS_PATH = "/tokens";
+    public static final String REACTIVE_PATH = "/reactive";
+    public static final String EVENTS_PATH = "/events";
+    public static final String SYNC_PATH = "/sync";
+    public static final String WEBHOOKS_PATH = "/webhooks";
     private static final String LABEL_PATH = "/labels/%s";
     private static final String USER_PATH = "/users/%s";
     private static final String STATUS_PATH = "/statuses/%s";
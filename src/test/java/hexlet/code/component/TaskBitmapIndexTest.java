@@ -0,0 +1,60 @@
+package hexlet.code.component;
+
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskFilter;
+import hexlet.code.dto.TaskStatusDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class TaskBitmapIndexTest {
+
+    private static final long STATUS_ID = 1L;
+
+    private final TaskBitmapIndex index = new TaskBitmapIndex();
+
+    @Test
+    public void keepIdsAboveIntRange() {
+
+        final long id = Integer.MAX_VALUE + 1L;
+        index.put(task(1L));
+        index.put(task(id));
+        index.put(task(TaskBitmapIndex.MAX_TASK_ID - 1));
+
+        assertThat(filtered()).containsExactly(1L, id, TaskBitmapIndex.MAX_TASK_ID - 1);
+        assertThat(index.isComplete()).isTrue();
+
+        index.remove(id);
+        assertThat(filtered()).containsExactly(1L, TaskBitmapIndex.MAX_TASK_ID - 1);
+    }
+
+    @Test
+    public void reportIdsBeyondRangeAsIncomplete() {
+
+        index.put(task(1L));
+        index.put(task(TaskBitmapIndex.MAX_TASK_ID));
+        index.remove(TaskBitmapIndex.MAX_TASK_ID);
+
+        assertThat(index.isComplete()).isFalse();
+        assertThat(filtered()).containsExactly(1L);
+
+        index.clear();
+        assertThat(index.isComplete()).isTrue();
+    }
+
+    private List<Long> filtered() {
+        final List<Long> ids = new ArrayList<>();
+        index.filter(TaskFilter.of(Set.of(STATUS_ID), null, null, null))
+                .forEach((int id) -> ids.add(TaskBitmapIndex.toTaskId(id)));
+        return ids;
+    }
+
+    private static TaskDTO task(long id) {
+        return new TaskDTO(id, "task " + id, null, null, null, new TaskStatusDTO(STATUS_ID, "status", null),
+                Set.of(), null);
+    }
+}
@@ -0,0 +1,150 @@
+package hexlet.code.config;
+
+import hexlet.code.component.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+
+public final class ConcurrencyLimitTest {
+
+    private static final String API = "/api/tasks";
+
+    private MeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    public void before() {
+        meterRegistry = new SimpleMeterRegistry();
+        final ConcurrencyLimitProperties.Limit single = new ConcurrencyLimitProperties.Limit(1, 1, 1);
+        filter = new ConcurrencyLimitFilter(new ConcurrencyLimitProperties(true, single, single), meterRegistry,
+                List.of("/api/events", "/api/tasks/export"));
+    }
+
+    @Test
+    public void rejectOnceLimitIsReached() throws Exception {
+
+        final MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        final MockHttpServletResponse outer = perform("GET", (request, response) ->
+                nested[0] = perform("GET", (innerRequest, innerResponse) -> { }));
+
+        assertThat(outer.getStatus()).isEqualTo(200);
+        assertThat(nested[0].getStatus()).isEqualTo(503);
+        assertThat(nested[0].getHeader(RETRY_AFTER)).isNotNull();
+        assertThat(meterRegistry.get("http.server.concurrency.rejected").tag("type", "read").counter().count())
+                .isEqualTo(1);
+
+        // The slot is back once the request is done.
+        assertThat(perform("GET", (request, response) -> { }).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void limitReadsAndWritesSeparately() throws Exception {
+
+        final MockHttpServletResponse[] write = new MockHttpServletResponse[1];
+        final MockHttpServletResponse[] secondWrite = new MockHttpServletResponse[1];
+        perform("GET", (request, response) -> write[0] = perform("POST", (innerRequest, innerResponse) ->
+                secondWrite[0] = perform("PUT", (lastRequest, lastResponse) -> { })));
+
+        assertThat(write[0].getStatus()).isEqualTo(200);
+        assertThat(secondWrite[0].getStatus()).isEqualTo(503);
+        assertThat(meterRegistry.get("http.server.concurrency.rejected").tag("type", "write").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.concurrency.rejected").tag("type", "read").counter().count())
+                .isZero();
+    }
+
+    @Test
+    public void holdSlotUntilAsyncRequestCompletes() throws Exception {
+
+        final MockHttpServletRequest asyncRequest = request("GET");
+        asyncRequest.setAsyncSupported(true);
+        filter.doFilter(asyncRequest, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        assertThat(inFlight("read")).isEqualTo(1);
+        assertThat(perform("GET", (request, response) -> { }).getStatus()).isEqualTo(503);
+
+        ((MockAsyncContext) asyncRequest.getAsyncContext()).complete();
+
+        assertThat(inFlight("read")).isZero();
+        assertThat(perform("GET", (request, response) -> { }).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void skipExemptPaths() throws Exception {
+
+        final MockHttpServletResponse[] stream = new MockHttpServletResponse[1];
+        perform("GET", (request, response) -> {
+            final MockHttpServletResponse streamResponse = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/events"), streamResponse, (r, s) -> { });
+            stream[0] = streamResponse;
+        });
+
+        assertThat(stream[0].getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void keepServingReadsDuringExport() throws Exception {
+
+        final MockHttpServletRequest export = new MockHttpServletRequest("GET", "/api/tasks/export");
+        export.setAsyncSupported(true);
+        filter.doFilter(export, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        assertThat(inFlight("read")).isZero();
+        assertThat(perform("GET", (request, response) -> { }).getStatus()).isEqualTo(200);
+        assertThat(perform("GET", (request, response) -> { }).getStatus()).isEqualTo(200);
+
+        ((MockAsyncContext) export.getAsyncContext()).complete();
+
+        assertThat(inFlight("read")).isZero();
+    }
+
+    @Test
+    public void shrinkLimitWhenLatencyRises() {
+
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100);
+        for (int i = 0; i < 50; i++) {
+            sample(limit, TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        final int beforeSlowdown = limit.getLimit();
+        assertThat(beforeSlowdown).isGreaterThan(20);
+
+        for (int i = 0; i < 50; i++) {
+            sample(limit, TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        assertThat(limit.getLimit()).isLessThan(beforeSlowdown);
+        assertThat(limit.getLimit()).isGreaterThanOrEqualTo(5);
+    }
+
+    /**
+     * A request that found the limit fully used, so its latency counts.
+     */
+    private static void sample(AdaptiveConcurrencyLimit limit, long rttNanos) {
+        assertThat(limit.tryAcquire()).isPositive();
+        limit.release(rttNanos, limit.getLimit());
+    }
+
+    private MockHttpServletResponse perform(String method, FilterChain chain) throws Exception {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method) {
+        return new MockHttpServletRequest(method, API);
+    }
+
+    private double inFlight(String type) {
+        return meterRegistry.get("http.server.concurrency.in-flight").tag("type", type).gauge().value();
+    }
+}
@@ -0,0 +1,249 @@
+package hexlet.code.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.component.outbox.OutboxRelay;
+import hexlet.code.config.TestConfig;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.UserDTO;
+import hexlet.code.dto.required.TaskRequiredDTO;
+import hexlet.code.event.ChangeType;
+import hexlet.code.event.OutboxEvent;
+import hexlet.code.model.Label;
+import hexlet.code.model.OutboxMessage;
+import hexlet.code.model.Task;
+import hexlet.code.model.User;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.OutboxMessageRepository;
+import hexlet.code.repository.OutboxOffsetRepository;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.utils.NamedRoutes;
+import hexlet.code.utils.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static hexlet.code.config.TestConfig.TEST_PROFILE;
+import static hexlet.code.utils.TestUtils.TEST_EMAIL_1;
+import static hexlet.code.utils.TestUtils.fromJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ActiveProfiles(TEST_PROFILE)
+@RecordApplicationEvents
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT, classes = TestConfig.class, properties = {
+    "outbox.sinks.file.enabled=true",
+    "outbox.sinks.file.path=${java.io.tmpdir}/outbox-test.ndjson"
+})
+
+public final class OutboxTest {
+
+    @Autowired
+    private TestUtils utils;
+    @Autowired
+    private OutboxRelay outboxRelay;
+    @Autowired
+    private ApplicationEvents applicationEvents;
+    @Autowired
+    private OutboxOffsetRepository outboxOffsetRepository;
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private LabelRepository labelRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Value("${outbox.sinks.file.path}")
+    private Path outboxFile;
+
+    @BeforeEach
+    public void before() throws Exception {
+        Files.deleteIfExists(outboxFile);
+    }
+    @AfterEach
+    public void clear() {
+        utils.tearDown();
+    }
+
+    @Test
+    public void relayUserChanges() throws Exception {
+
+        utils.regDefaultUser();
+        outboxRelay.relay();
+
+        final List<OutboxEvent> events = applicationEvents.stream(OutboxEvent.class).toList();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).aggregate()).isEqualTo(Resource.USERS);
+        assertThat(events.get(0).type()).isEqualTo(ChangeType.CREATED);
+        assertThat(events.get(0).payload()).contains(TEST_EMAIL_1);
+
+        final List<String> lines = Files.readAllLines(outboxFile);
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0)).contains("\"payload\":{").contains(TEST_EMAIL_1).doesNotContain("password");
+
+        outboxRelay.relay();
+        assertThat(applicationEvents.stream(OutboxEvent.class)).hasSize(1);
+        assertThat(Files.readAllLines(outboxFile)).hasSize(1);
+
+        // Every instance publishes to its own listeners, so only the shared file sink keeps an offset.
+        assertThat(outboxOffsetRepository.findById("events")).isEmpty();
+        assertThat(outboxOffsetRepository.findById("file")).isPresent();
+    }
+
+    @Test
+    public void relayLabelChanges() throws Exception {
+
+        utils.regDefaultUser();
+        utils.regDefaultLabel();
+        outboxRelay.relay();
+
+        assertThat(applicationEvents.stream(OutboxEvent.class).map(OutboxEvent::aggregate))
+                .containsExactly(Resource.USERS, Resource.LABELS);
+    }
+
+    @Test
+    public void pickUpTasksWrittenByOtherInstances() throws Exception {
+
+        utils.regDefaultUser();
+        utils.regDefaultStatus();
+        outboxRelay.relay();
+        assertThat(getTasks()).isEmpty();
+
+        final TaskDTO task = writeTaskElsewhere("remote task");
+        assertThat(getTasks()).isEmpty();
+
+        outboxRelay.relay();
+        assertThat(getTasks()).extracting(TaskDTO::id).containsExactly(task.id());
+        assertThat(getTasks(get(NamedRoutes.tasksPath()).param("taskStatus", task.taskStatus().id().toString())))
+                .extracting(TaskDTO::id)
+                .containsExactly(task.id());
+        assertThat(getTasks(get(NamedRoutes.tasksPath()).param("q", "remote")))
+                .extracting(TaskDTO::id)
+                .containsExactly(task.id());
+    }
+
+    @Test
+    public void revalidateAfterWritesOfOtherInstances() throws Exception {
+
+        utils.regDefaultUser();
+        utils.regDefaultStatus();
+        outboxRelay.relay();
+        final String eTag = utils.performAuthorizedRequest(get(NamedRoutes.tasksPath()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        writeTaskElsewhere("remote task");
+        outboxRelay.relay();
+
+        utils.performAuthorizedRequest(get(NamedRoutes.tasksPath()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void acceptLabelsCreatedByOtherInstances() throws Exception {
+
+        utils.regDefaultUser();
+        utils.regDefaultStatus();
+        utils.performAuthorizedRequest(get(NamedRoutes.labelsPath())).andExpect(status().isOk());
+
+        final Label label = new Label();
+        label.setName("remote label");
+        labelRepository.save(label);
+
+        final Long userId = userRepository.findByEmail(TEST_EMAIL_1).orElseThrow().getId();
+        final TaskRequiredDTO task = new TaskRequiredDTO("task", "description", userId, userId,
+                taskStatusRepository.findAll().get(0).getId(), Set.of(label.getId()));
+        utils.regNewInstance(NamedRoutes.tasksPath(), task).andExpect(status().isCreated());
+    }
+
+    @Test
+    public void suggestUsersWrittenByOtherInstances() throws Exception {
+
+        utils.regDefaultUser();
+        outboxRelay.relay();
+
+        final User user = new User();
+        user.setEmail("remote@example.com");
+        user.setFirstName("Remote");
+        user.setLastName("Colleague");
+        user.setPassword("password");
+        userRepository.save(user);
+        outboxMessageRepository.save(new OutboxMessage(null, Resource.USERS, user.getId(), ChangeType.CREATED,
+                objectMapper.writeValueAsString(UserDTO.toUserDTO(user)), Instant.now()));
+        assertThat(suggestUsers("remote co")).isEmpty();
+
+        outboxRelay.relay();
+        assertThat(suggestUsers("remote co")).extracting(UserDTO::getEmail).containsExactly("remote@example.com");
+    }
+
+    /**
+     * Saves a task and its outbox message the way another instance would, without any event in this one.
+     */
+    private TaskDTO writeTaskElsewhere(String name) throws Exception {
+        final Task task = taskRepository.save(Task.builder()
+                .name(name)
+                .description("written by another instance")
+                .author(userRepository.findByEmail(TEST_EMAIL_1).orElseThrow())
+                .executor(userRepository.findByEmail(TEST_EMAIL_1).orElseThrow())
+                .taskStatus(taskStatusRepository.findAll().get(0))
+                .labels(new HashSet<>())
+                .build());
+        final TaskDTO dto = TaskDTO.toTaskDTO(task);
+        outboxMessageRepository.save(new OutboxMessage(null, Resource.TASKS, task.getId(), ChangeType.CREATED,
+                objectMapper.writeValueAsString(dto), Instant.now()));
+        return dto;
+    }
+
+    private List<UserDTO> suggestUsers(String prefix) throws Exception {
+        final var response = utils.performAuthorizedRequest(
+                        get(NamedRoutes.usersPath() + "/suggest").param("prefix", prefix))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        return fromJson(response.getContentAsString(), new TypeReference<>() { });
+    }
+
+    private List<TaskDTO> getTasks() throws Exception {
+        return getTasks(get(NamedRoutes.tasksPath()));
+    }
+
+    private List<TaskDTO> getTasks(MockHttpServletRequestBuilder request) throws Exception {
+        final var response = utils.performAuthorizedRequest(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        return fromJson(response.getContentAsString(), new TypeReference<>() { });
+    }
+}
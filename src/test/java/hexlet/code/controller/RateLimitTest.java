@@ -0,0 +1,84 @@
+package hexlet.code.controller;
+
+import hexlet.code.config.TestConfig;
+import hexlet.code.dto.LogInDTO;
+import hexlet.code.utils.NamedRoutes;
+import hexlet.code.utils.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static hexlet.code.config.TestConfig.TEST_PROFILE;
+import static hexlet.code.utils.TestUtils.LOGIN;
+import static hexlet.code.utils.TestUtils.TEST_EMAIL_1;
+import static hexlet.code.utils.TestUtils.asJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ActiveProfiles(TEST_PROFILE)
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT, classes = TestConfig.class, properties = {
+    "rate-limit.enabled=true",
+    "rate-limit.groups.login.capacity=2",
+    "rate-limit.groups.login.refill-per-second=0.01",
+    "rate-limit.groups.api.capacity=3",
+    "rate-limit.groups.api.refill-per-second=0.01"
+})
+public final class RateLimitTest {
+
+    @Autowired
+    private TestUtils utils;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    public void clear() {
+        utils.tearDown();
+    }
+
+    @Test
+    public void throttleLoginPerAddress() throws Exception {
+
+        utils.regDefaultUser();
+        final var loginRequest = post(LOGIN)
+                .content(asJson(new LogInDTO(TEST_EMAIL_1, "12345")))
+                .contentType(APPLICATION_JSON);
+
+        utils.perform(loginRequest).andExpect(status().isOk());
+        utils.perform(loginRequest).andExpect(status().isOk());
+        utils.perform(loginRequest)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(RETRY_AFTER));
+
+        assertThat(meterRegistry.get("http.server.requests.throttled").tag("group", "login").counter().count())
+                .isPositive();
+    }
+
+    @Test
+    public void throttleApiPerUser() throws Exception {
+
+        utils.regDefaultUser();
+        for (int i = 0; i < 3; i++) {
+            utils.performAuthorizedRequest(get(NamedRoutes.labelsPath())).andExpect(status().isOk());
+        }
+        utils.performAuthorizedRequest(get(NamedRoutes.labelsPath()))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(RETRY_AFTER));
+
+        utils.performAuthorizedRequest(get(NamedRoutes.labelsPath()), "other@user")
+                .andExpect(status().isOk());
+    }
+}
@@ -7,6 +7,7 @@ import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.utils.NamedRoutes;
 import hexlet.code.utils.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -45,6 +46,8 @@ public final class StatusControllerTest {
     private TaskStatusRepository taskStatusRepository;
     @Autowired
     private TestUtils utils;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     @BeforeEach
     public void before() throws Exception {
@@ -113,6 +116,26 @@ public final class StatusControllerTest {
         }
     }
 
+    @Test
+    public void getCachedStatuses() throws Exception {
+
+        final TaskStatus defaultStatus = taskStatusRepository.findAll().get(0);
+        assertThat(getStatusNames()).containsExactly(defaultStatus.getName());
+
+        utils.regNewInstance(NamedRoutes.statusesPath(), new TaskStatusDTO(null, "Some status", null));
+        utils.performAuthorizedRequest(put(NamedRoutes.statusPath(defaultStatus.getId()))
+                        .content(asJson(new TaskStatusDTO(null, "Renamed status", null)))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        assertThat(getStatusNames()).containsExactly("Renamed status", "Some status");
+        assertThat(meterRegistry.get("reference.cache.requests")
+                .tag("cache", "statuses")
+                .tag("result", "hit")
+                .counter()
+                .count()).isPositive();
+    }
+
     @Test
     public void updateStatus() throws Exception {
 
@@ -149,4 +172,13 @@ public final class StatusControllerTest {
 
         assertFalse(taskStatusRepository.existsById(statusId));
     }
+
+    private List<String> getStatusNames() throws Exception {
+        final var response = utils.performAuthorizedRequest(get(NamedRoutes.statusesPath()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final List<TaskStatusDTO> statuses = fromJson(response.getContentAsString(), new TypeReference<>() { });
+        return statuses.stream().map(TaskStatusDTO::name).toList();
+    }
 }
@@ -0,0 +1,135 @@
+package hexlet.code.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import hexlet.code.component.ResourceVersions.Resource;
+import hexlet.code.config.TestConfig;
+import hexlet.code.dto.LabelDTO;
+import hexlet.code.dto.SyncCursor;
+import hexlet.code.dto.SyncResponse;
+import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.required.TaskRequiredDTO;
+import hexlet.code.model.Label;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.utils.NamedRoutes;
+import hexlet.code.utils.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Instant;
+import java.util.Set;
+
+import static hexlet.code.config.TestConfig.TEST_PROFILE;
+import static hexlet.code.utils.TestUtils.TEST_EMAIL_1;
+import static hexlet.code.utils.TestUtils.fromJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ActiveProfiles(TEST_PROFILE)
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT, classes = TestConfig.class, properties = "sync.page-size=2")
+
+public final class SyncControllerTest {
+
+    @Autowired
+    private LabelRepository labelRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private TestUtils utils;
+
+    @BeforeEach
+    public void before() throws Exception {
+        utils.regDefaultUser();
+        utils.regDefaultLabel();
+    }
+    @AfterEach
+    public void clear() {
+        utils.tearDown();
+    }
+
+    @Test
+    public void syncChanges() throws Exception {
+
+        final SyncResponse snapshot = sync(get(NamedRoutes.SYNC_PATH));
+        assertThat(snapshot.snapshot()).isTrue();
+        assertThat(snapshot.labels()).extracting(LabelDTO::name).containsExactly("Test label");
+
+        final Label defaultLabel = labelRepository.findFirstByOrderById().get();
+        utils.regNewInstance(NamedRoutes.labelsPath(), new LabelDTO(null, "Synced label", null));
+        utils.performAuthorizedRequest(delete(NamedRoutes.labelPath(defaultLabel.getId())))
+                .andExpect(status().isOk());
+
+        final SyncResponse delta = sync(get(NamedRoutes.SYNC_PATH).param("since", snapshot.cursor()));
+        assertThat(delta.snapshot()).isFalse();
+        assertThat(delta.labels()).extracting(LabelDTO::name).containsExactly("Synced label");
+        assertThat(delta.deleted()).containsExactly(new SyncResponse.Tombstone(Resource.LABELS, defaultLabel.getId()));
+
+        final SyncResponse caughtUp = sync(get(NamedRoutes.SYNC_PATH).param("since", delta.cursor()));
+        assertThat(caughtUp.labels()).isEmpty();
+        assertThat(caughtUp.deleted()).isEmpty();
+    }
+
+    @Test
+    public void syncFallsBackToSnapshot() throws Exception {
+
+        final String compacted = new SyncCursor(0, Instant.EPOCH).encode();
+        final SyncResponse response = sync(get(NamedRoutes.SYNC_PATH).param("since", compacted));
+        assertThat(response.snapshot()).isTrue();
+        assertThat(response.labels()).hasSize(1);
+
+        utils.performAuthorizedRequest(get(NamedRoutes.SYNC_PATH).param("since", "not a cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void pageSnapshot() throws Exception {
+
+        utils.regDefaultStatus();
+        final Long userId = userRepository.findByEmail(TEST_EMAIL_1).orElseThrow().getId();
+        final Long statusId = taskStatusRepository.findAll().get(0).getId();
+        for (String name : new String[] {"first task", "second task", "third task"}) {
+            utils.regNewInstance(NamedRoutes.tasksPath(),
+                    new TaskRequiredDTO(name, "description", userId, userId, statusId, Set.of()));
+        }
+
+        final SyncResponse first = sync(get(NamedRoutes.SYNC_PATH));
+        assertThat(first.snapshot()).isTrue();
+        assertThat(first.hasMore()).isTrue();
+        assertThat(first.tasks()).extracting(TaskDTO::name).containsExactly("first task", "second task");
+        assertThat(first.labels()).hasSize(1);
+
+        final SyncResponse last = sync(get(NamedRoutes.SYNC_PATH).param("since", first.cursor()));
+        assertThat(last.snapshot()).isTrue();
+        assertThat(last.hasMore()).isFalse();
+        assertThat(last.tasks()).extracting(TaskDTO::name).containsExactly("third task");
+        assertThat(last.labels()).isEmpty();
+
+        final SyncResponse delta = sync(get(NamedRoutes.SYNC_PATH).param("since", last.cursor()));
+        assertThat(delta.snapshot()).isFalse();
+        assertThat(delta.tasks()).isEmpty();
+    }
+
+    private SyncResponse sync(MockHttpServletRequestBuilder request) throws Exception {
+        final var response = utils.performAuthorizedRequest(request)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        return fromJson(response.getContentAsString(), new TypeReference<>() { });
+    }
+}
@@ -1,12 +1,18 @@
 package hexlet.code.controller;
 
+import hexlet.code.dto.TaskBatchRequest;
+import hexlet.code.dto.TaskBatchResult;
 import hexlet.code.dto.TaskDTO;
+import hexlet.code.dto.TaskStatusDTO;
 import hexlet.code.dto.UserDTO;
 import hexlet.code.dto.required.TaskRequiredDTO;
 import hexlet.code.model.Label;
 import hexlet.code.model.Task;
 import hexlet.code.model.TaskStatus;
+import hexlet.code.component.TaskListCache;
+import hexlet.code.component.outbox.OutboxRelay;
 import hexlet.code.config.TestConfig;
+import hexlet.code.controller.api.TaskController;
 import hexlet.code.model.User;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.repository.TaskRepository;
@@ -14,6 +20,7 @@ import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
 import hexlet.code.utils.NamedRoutes;
 import hexlet.code.utils.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,15 +28,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import com.fasterxml.jackson.core.type.TypeReference;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static hexlet.code.config.TestConfig.TEST_PROFILE;
 import static hexlet.code.utils.TestUtils.asJson;
@@ -39,6 +52,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -62,6 +77,10 @@ public final class TaskControllerTest {
     private LabelRepository labelRepository;
     @Autowired
     private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private OutboxRelay outboxRelay;
 
     @BeforeEach
     public void before() throws Exception {
@@ -113,6 +132,31 @@ public final class TaskControllerTest {
         assertThat(expectedTask.getName()).isEqualTo(task.name());
     }
 
+    @Test
+    public void getTaskNotModified() throws Exception {
+
+        getTaskRequest(buildTaskDTO());
+        final Long taskId = taskRepository.findFirstByOrderById().get().getId();
+
+        final String eTag = utils.performAuthorizedRequest(get(NamedRoutes.taskPath(taskId)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        utils.performAuthorizedRequest(get(NamedRoutes.taskPath(taskId)).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        utils.performAuthorizedRequest(put(NamedRoutes.taskPath(taskId))
+                        .content(asJson(buildTaskDTO("Updated task title", "Updated task description")))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        utils.performAuthorizedRequest(get(NamedRoutes.taskPath(taskId)).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     public void getAllTasks() throws Exception {
 
@@ -137,6 +181,316 @@ public final class TaskControllerTest {
         }
     }
 
+    @Test
+    public void getTasksByPages() throws Exception {
+
+        getTaskRequest(buildTaskDTO("first task", "description"));
+        getTaskRequest(buildTaskDTO("second task", "description"));
+        getTaskRequest(buildTaskDTO("third task", "description"));
+
+        final var firstPage = utils.performAuthorizedRequest(
+                        get(NamedRoutes.tasksPath()).param("limit", "2").param("sort", "-name"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(TaskController.NEXT_CURSOR_HEADER))
+                .andExpect(header().exists(HttpHeaders.LINK))
+                .andReturn()
+                .getResponse();
+
+        final List<TaskDTO> firstTasks = fromJson(firstPage.getContentAsString(), new TypeReference<>() { });
+        assertThat(firstTasks).extracting(TaskDTO::name).containsExactly("third task", "second task");
+
+        final var secondPage = utils.performAuthorizedRequest(
+                        get(NamedRoutes.tasksPath())
+                                .param("limit", "2")
+                                .param("sort", "-name")
+                                .param("after", firstPage.getHeader(TaskController.NEXT_CURSOR_HEADER)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(TaskController.NEXT_CURSOR_HEADER))
+                .andReturn()
+                .getResponse();
+
+        final List<TaskDTO> secondTasks = fromJson(secondPage.getContentAsString(), new TypeReference<>() { });
+        assertThat(secondTasks).extracting(TaskDTO::name).containsExactly("first task");
+    }
+
+    @Test
+    public void getTasksWithMalformedCursor() throws Exception {
+
+        utils.performAuthorizedRequest(
+                        get(NamedRoutes.tasksPath()).param("after", "not a cursor"))
+                .andExpect(status().isBadRequest());
+
+        final String garbledDate = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("CREATED_AT|1|yesterday".getBytes(StandardCharsets.UTF_8));
+        utils.performAuthorizedRequest(get(NamedRoutes.tasksPath())
+                        .param("sort", "createdAt")
+                        .param("after", garbledDate))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getCachedTasks() throws Exception {
+
+        getTaskRequest(buildTaskDTO("first task", "description"));
+        assertThat(getTaskNames()).containsExactly("first task");
+        assertThat(getTaskNames()).containsExactly("first task");
+        assertThat(meterRegistry.get("cache.gets")
+                .tag("cache", TaskListCache.CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter()
+                .count()).isPositive();
+
+        getTaskRequest(buildTaskDTO("second task", "description"));
+        assertThat(getTaskNames()).containsExactly("first task", "second task");
+
+        final TaskStatus status = taskStatusRepository.findAll().get(0);
+        utils.performAuthorizedRequest(put(NamedRoutes.statusPath(status.getId()))
+                        .content(asJson(new TaskStatusDTO(null, "Renamed status", null)))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        final var response = utils.performAuthorizedRequest(get(NamedRoutes.tasksPath()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final List<TaskDTO> tasks = fromJson(response.getContentAsString(), new TypeReference<>() { });
+        assertThat(tasks).extracting(task -> task.taskStatus().name()).containsOnly("Renamed status");
+    }
+
+    @Test
+    public void filterTasks() throws Exception {
+
+        utils.regNewInstance(NamedRoutes.statusesPath(), new TaskStatusDTO(null, "Another status", null));
+        final TaskStatus anotherStatus = taskStatusRepository.findAll().stream()
+                .filter(status -> status.getName().equals("Another status"))
+                .findFirst()
+                .get();
+
+        final TaskRequiredDTO first = buildTaskDTO("first task", "description");
+        getTaskRequest(first);
+        getTaskRequest(new TaskRequiredDTO("second task", "description", first.authorId(), first.executorId(),
+                anotherStatus.getId(), first.labelIds()));
+        getTaskRequest(new TaskRequiredDTO("third task", "description", first.authorId(), first.executorId(),
+                anotherStatus.getId(), Set.of()));
+
+        final var response = utils.performAuthorizedRequest(
+                        get(NamedRoutes.tasksPath())
+                                .param("taskStatus", anotherStatus.getId().toString())
+                                .param("labelsId", first.labelIds().iterator().next().toString())
+                                .param("authorId", first.authorId().toString()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        final List<TaskDTO> tasks = fromJson(response.getContentAsString(), new TypeReference<>() { });
+        assertThat(tasks).extracting(TaskDTO::name).containsExactly("second task");
+    }
+
+    @Test
+    public void searchTasks() throws Exception {
+
+        getTaskRequest(buildTaskDTO("Deploy backend", "roll out the release"));
+        getTaskRequest(buildTaskDTO("Write release notes", "describe the backend changes"));
+        getTaskRequest(buildTaskDTO("Fix login form", "broken button"));
+
+        final var response = utils.performAuthorizedRequest(
+                        get(NamedRoutes.tasksPath()).param("q", "backe"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        final List<TaskDTO> tasks = fromJson(response.getContentAsString(), new TypeReference<>() { });
+        assertThat(tasks).extracting(TaskDTO::name).containsExactly("Deploy backend", "Write release notes");
+
+        final var paged = utils.performAuthorizedRequest(
+                        get(NamedRoutes.tasksPath()).param("q", "release backend").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LINK))
+                .andReturn()
+                .getResponse();
+
+        final List<TaskDTO> firstHit = fromJson(paged.getContentAsString(), new TypeReference<>() { });
+        assertThat(firstHit).hasSize(1);
+    }
+
+    @Test
+    public void exportTasks() throws Exception {
+
+        getTaskRequest(buildTaskDTO("first task", "description"));
+        getTaskRequest(buildTaskDTO("second task", "with, comma"));
+
+        final var ndjson = utils.performAsyncRequest(
+                        get(NamedRoutes.tasksPath() + "/export"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(ndjson.lines()).hasSize(2);
+        assertThat(fromJson(ndjson.lines().findFirst().get(), new TypeReference<TaskDTO>() { }).name())
+                .isEqualTo("first task");
+
+        final var csv = utils.performAsyncRequest(
+                        get(NamedRoutes.tasksPath() + "/export").param("format", "csv").param("name", "second"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(csv.lines()).hasSize(2);
+        assertThat(csv.lines().skip(1).findFirst().get()).contains("second task,\"with, comma\"");
+    }
+
+    @Test
+    public void streamTasksReactively() throws Exception {
+
+        getTaskRequest(buildTaskDTO("first task", "description"));
+        getTaskRequest(buildTaskDTO("second task", "100% done"));
+        getTaskRequest(buildTaskDTO("third task", "description"));
+
+        final var ndjson = utils.performAsyncRequest(
+                        get(NamedRoutes.REACTIVE_PATH + NamedRoutes.tasksPath()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        final List<TaskDTO> tasks = new ArrayList<>();
+        for (String line : ndjson.lines().toList()) {
+            tasks.add(fromJson(line, new TypeReference<>() { }));
+        }
+        assertThat(tasks).extracting(TaskDTO::name).containsExactly("first task", "second task");
+        assertThat(tasks.get(0).labels()).hasSize(1);
+        assertThat(tasks.get(0).author().getEmail()).isNotNull();
+
+        final var filtered = utils.performAsyncRequest(
+                        get(NamedRoutes.REACTIVE_PATH + NamedRoutes.tasksPath()).param("description", "0% D"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(filtered.lines()).hasSize(1);
+        assertThat(fromJson(filtered.lines().findFirst().get(), new TypeReference<TaskDTO>() { }).name())
+                .isEqualTo("second task");
+    }
+
+    @Test
+    public void streamChangeEvents() throws Exception {
+
+        final MvcResult events = utils.performAuthorizedRequest(
+                        get(NamedRoutes.EVENTS_PATH).param("resources", "tasks"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        utils.regNewInstance(NamedRoutes.statusesPath(), new TaskStatusDTO(null, "Ignored status", null));
+        getTaskRequest(buildTaskDTO("streamed task", "description"));
+        outboxRelay.relay();
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!events.getResponse().getContentAsString().contains("event:tasks") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(events.getResponse().getContentAsString())
+                .contains("event:tasks")
+                .contains("\"type\":\"CREATED\"")
+                .doesNotContain("event:statuses");
+
+        // Numbered per subscriber, the filtered out status leaves no gap.
+        final List<String> ids = events.getResponse().getContentAsString().lines()
+                .filter(line -> line.startsWith("id:"))
+                .map(line -> line.substring("id:".length()))
+                .toList();
+        assertThat(ids).isNotEmpty();
+        for (int i = 0; i < ids.size(); i++) {
+            assertThat(ids.get(i)).isEqualTo(Integer.toString(i + 1));
+        }
+    }
+
+    @Test
+    public void batchTasks() throws Exception {
+
+        getTaskRequest(buildTaskDTO("existing task", "description"));
+        getTaskRequest(buildTaskDTO("task to delete", "description"));
+        final List<Task> existing = taskRepository.findAllByOrderByIdAsc();
+        final TaskRequiredDTO missingStatus = new TaskRequiredDTO("broken task", "description", null,
+                existing.get(0).getExecutor().getId(), Long.MAX_VALUE, Set.of());
+
+        final TaskBatchRequest atomic = new TaskBatchRequest(
+                List.of(buildTaskDTO("new task", "description"), missingStatus),
+                List.of(new TaskBatchRequest.Update(existing.get(0).getId(), buildTaskDTO("renamed task", "d"))),
+                List.of(existing.get(1).getId()),
+                true);
+        final var rejected = utils.performAuthorizedRequest(post(NamedRoutes.tasksPath() + "/batch")
+                        .content(asJson(atomic))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isUnprocessableEntity())
+                .andReturn()
+                .getResponse();
+
+        final TaskBatchResult rejectedResult = fromJson(rejected.getContentAsString(), new TypeReference<>() { });
+        assertThat(rejectedResult.items()).extracting(TaskBatchResult.Item::status).containsExactly(424, 404, 424, 424);
+        assertThat(taskRepository.count()).isEqualTo(2);
+
+        final TaskBatchRequest partial = new TaskBatchRequest(atomic.create(), atomic.update(), atomic.delete(), false);
+        final var applied = utils.performAuthorizedRequest(post(NamedRoutes.tasksPath() + "/batch")
+                        .content(asJson(partial))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        final TaskBatchResult appliedResult = fromJson(applied.getContentAsString(), new TypeReference<>() { });
+        assertThat(appliedResult.items()).extracting(TaskBatchResult.Item::status).containsExactly(201, 404, 200, 204);
+        assertThat(taskRepository.findAllByOrderByIdAsc())
+                .extracting(Task::getName)
+                .containsExactly("renamed task", "new task");
+    }
+
+    @Test
+    public void batchKeepsItemsThatWereWrittenWhenOneFails() throws Exception {
+
+        final TaskBatchRequest request = new TaskBatchRequest(
+                List.of(buildTaskDTO("kept task", "description"), buildTaskDTO("too long", "d".repeat(300))),
+                null,
+                null,
+                false);
+        final var response = utils.performAuthorizedRequest(post(NamedRoutes.tasksPath() + "/batch")
+                        .content(asJson(request))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        final TaskBatchResult result = fromJson(response.getContentAsString(), new TypeReference<>() { });
+        assertThat(result.items()).extracting(TaskBatchResult.Item::status).containsExactly(201, 422);
+        assertThat(taskRepository.findAllByOrderByIdAsc()).extracting(Task::getName).containsExactly("kept task");
+    }
+
+    @Test
+    public void batchRejectsRepeatedTasks() throws Exception {
+
+        getTaskRequest(buildTaskDTO("existing task", "description"));
+        final Long id = taskRepository.findAllByOrderByIdAsc().get(0).getId();
+
+        final TaskBatchRequest request = new TaskBatchRequest(
+                null,
+                List.of(new TaskBatchRequest.Update(id, buildTaskDTO("renamed task", "d"))),
+                List.of(id),
+                false);
+        final var response = utils.performAuthorizedRequest(post(NamedRoutes.tasksPath() + "/batch")
+                        .content(asJson(request))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        final TaskBatchResult result = fromJson(response.getContentAsString(), new TypeReference<>() { });
+        assertThat(result.items()).extracting(TaskBatchResult.Item::status).containsExactly(409, 409);
+        assertThat(taskRepository.findAllByOrderByIdAsc()).extracting(Task::getName).containsExactly("existing task");
+    }
+
     @Test
     public void updateTask() throws Exception {
 
@@ -201,6 +555,27 @@ public final class TaskControllerTest {
             .andExpect(status().isForbidden());
     }
 
+    @Test
+    public void updateTaskFail() throws Exception {
+
+        final TaskRequiredDTO defaultTask = buildTaskDTO();
+        getTaskRequest(defaultTask);
+
+        final Long defaultTaskId = taskRepository.findFirstByOrderById().get().getId();
+
+        utils.performAuthorizedRequest(
+                put(NamedRoutes.taskPath(defaultTaskId))
+                        .content(asJson(defaultTask))
+                        .contentType(APPLICATION_JSON), "new@user")
+            .andExpect(status().isForbidden());
+
+        utils.performAuthorizedRequest(
+                put(NamedRoutes.taskPath(defaultTaskId + 1))
+                        .content(asJson(defaultTask))
+                        .contentType(APPLICATION_JSON))
+            .andExpect(status().isNotFound());
+    }
+
     private TaskRequiredDTO buildTaskDTO() {
 
         User defaultUser = userRepository.findAll().stream().filter(Objects::nonNull).findFirst().get();
@@ -231,6 +606,15 @@ public final class TaskControllerTest {
         );
     }
 
+    private List<String> getTaskNames() throws Exception {
+        final var response = utils.performAuthorizedRequest(get(NamedRoutes.tasksPath()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final List<TaskDTO> tasks = fromJson(response.getContentAsString(), new TypeReference<>() { });
+        return tasks.stream().map(TaskDTO::name).toList();
+    }
+
     private ResultActions getTaskRequest(TaskRequiredDTO taskDto) throws Exception {
         return utils.performAuthorizedRequest(
                 post(NamedRoutes.TASKS_PATH)
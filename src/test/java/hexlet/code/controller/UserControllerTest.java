@@ -1,13 +1,22 @@
 package hexlet.code.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import hexlet.code.component.JWTHelper;
+import hexlet.code.component.TokenRevocationList;
 import hexlet.code.config.TestConfig;
+import hexlet.code.config.security.UserPrincipal;
+import hexlet.code.controller.api.TaskController;
 import hexlet.code.dto.LogInDTO;
+import hexlet.code.dto.RevokeTokenDTO;
+import hexlet.code.dto.UserDTO;
 import hexlet.code.dto.required.UserRequiredDTO;
+import hexlet.code.model.RevokedToken;
 import hexlet.code.model.User;
+import hexlet.code.repository.RevokedTokenRepository;
 import hexlet.code.repository.UserRepository;
 import hexlet.code.utils.NamedRoutes;
 import hexlet.code.utils.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,7 +26,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 
 import static hexlet.code.config.TestConfig.TEST_PROFILE;
 import static hexlet.code.utils.TestUtils.LOGIN;
@@ -30,9 +42,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.SPRING_SECURITY_FORM_USERNAME_KEY;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -50,6 +65,14 @@ public final class UserControllerTest {
     private UserRepository userRepository;
     @Autowired
     private TestUtils utils;
+    @Autowired
+    private JWTHelper jwtHelper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
 
     @AfterEach
     public void clear() {
@@ -113,6 +136,35 @@ public final class UserControllerTest {
         }
     }
 
+    @Test
+    public void getUsersPageAndSuggestions() throws Exception {
+
+        utils.regDefaultUser();
+        utils.regNewInstance(NamedRoutes.usersPath(), new UserRequiredDTO(TEST_EMAIL_2, "Mary", "Smith", "pwd"));
+
+        final var firstPage = utils.perform(get(NamedRoutes.usersPath()).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        final List<UserDTO> first = fromJson(firstPage.getContentAsString(), new TypeReference<>() { });
+        assertThat(first).extracting(UserDTO::getEmail).containsExactly(TEST_EMAIL_1);
+
+        final var secondPage = utils.perform(get(NamedRoutes.usersPath())
+                        .param("limit", "1")
+                        .param("after", firstPage.getHeader(TaskController.NEXT_CURSOR_HEADER)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        final List<UserDTO> second = fromJson(secondPage.getContentAsString(), new TypeReference<>() { });
+        assertThat(second).extracting(UserDTO::getEmail).containsExactly(TEST_EMAIL_2);
+        assertNull(secondPage.getHeader(TaskController.NEXT_CURSOR_HEADER));
+
+        final var suggestions = utils.performAuthorizedRequest(
+                        get(NamedRoutes.usersPath() + "/suggest").param("prefix", "MARY s"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        final List<UserDTO> suggested = fromJson(suggestions.getContentAsString(), new TypeReference<>() { });
+        assertThat(suggested).extracting(UserDTO::getEmail).containsExactly(TEST_EMAIL_2);
+    }
+
     @Test
     public void twiceRegTheSameUserFail() throws Exception {
 
@@ -129,6 +181,33 @@ public final class UserControllerTest {
         final var loginRequest = post(LOGIN).content(asJson(rightCredentials)).contentType(APPLICATION_JSON);
         utils.perform(loginRequest)
                 .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("password.hashing.duration").timer().count()).isPositive();
+    }
+
+    @Test
+    public void loginIssuesTokenWithUserId() throws Exception {
+
+        utils.regDefaultUser();
+        final User user = userRepository.findByEmail(TEST_EMAIL_1).get();
+
+        final var loginRequest = post(LOGIN)
+                .content(asJson(new LogInDTO(TEST_EMAIL_1, "12345")))
+                .contentType(APPLICATION_JSON);
+        final String token = utils.perform(loginRequest)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .trim();
+
+        final Map<String, Object> claims = jwtHelper.verify(token);
+        assertThat(((Number) claims.get(UserPrincipal.ID_CLAIM)).longValue()).isEqualTo(user.getId());
+        assertThat(claims.get(UserPrincipal.FIRST_NAME_CLAIM)).isEqualTo(user.getFirstName());
+        assertThat(claims).doesNotContainKey("password");
+
+        utils.perform(get(NamedRoutes.userPath(user.getId())).header(AUTHORIZATION, token))
+                .andExpect(status().isOk());
     }
 
     @Test
@@ -142,6 +221,71 @@ public final class UserControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    public void authorizeWithBearerToken() throws Exception {
+
+        utils.regDefaultUser();
+        final String token = jwtHelper.expiring(Map.of(SPRING_SECURITY_FORM_USERNAME_KEY, TEST_EMAIL_1));
+
+        for (int i = 0; i < 2; i++) {
+            utils.perform(get(NamedRoutes.labelsPath()).header(AUTHORIZATION, "Bearer " + token + " "))
+                    .andExpect(status().isOk());
+        }
+
+        final String tampered = token.substring(0, token.length() - 2) + "xx";
+        assertThrows(Exception.class, () -> utils.perform(
+                get(NamedRoutes.labelsPath()).header(AUTHORIZATION, "Bearer " + tampered)));
+    }
+
+    @Test
+    public void logoutRevokesToken() throws Exception {
+
+        utils.regDefaultUser();
+        final String token = jwtHelper.expiring(Map.of(SPRING_SECURITY_FORM_USERNAME_KEY, TEST_EMAIL_1));
+        final String otherToken = jwtHelper.expiring(Map.of(SPRING_SECURITY_FORM_USERNAME_KEY, TEST_EMAIL_1));
+
+        utils.perform(get(NamedRoutes.labelsPath()).header(AUTHORIZATION, token))
+                .andExpect(status().isOk());
+        utils.perform(post(NamedRoutes.LOGOUT_PATH).header(AUTHORIZATION, token))
+                .andExpect(status().isNoContent());
+
+        utils.perform(get(NamedRoutes.labelsPath()).header(AUTHORIZATION, token))
+                .andExpect(status().isUnauthorized());
+        utils.perform(get(NamedRoutes.labelsPath()).header(AUTHORIZATION, otherToken))
+                .andExpect(status().isOk());
+
+        utils.perform(post(NamedRoutes.TOKENS_PATH + "/revoke")
+                        .header(AUTHORIZATION, token)
+                        .content(asJson(new RevokeTokenDTO(otherToken)))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isUnauthorized());
+        utils.perform(post(NamedRoutes.TOKENS_PATH + "/revoke")
+                        .header(AUTHORIZATION, otherToken)
+                        .content(asJson(new RevokeTokenDTO(otherToken)))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+        utils.perform(get(NamedRoutes.labelsPath()).header(AUTHORIZATION, otherToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void refreshRevocationsFromOtherInstances() throws Exception {
+
+        utils.regDefaultUser();
+        final String token = jwtHelper.expiring(Map.of(SPRING_SECURITY_FORM_USERNAME_KEY, TEST_EMAIL_1));
+        final String jti = (String) jwtHelper.verify(token).get("jti");
+
+        // Revoked elsewhere: the row exists, but this instance's filter hasn't seen it.
+        revokedTokenRepository.save(new RevokedToken(jti, Instant.now().plus(1, ChronoUnit.HOURS), Instant.now()));
+        utils.perform(get(NamedRoutes.labelsPath()).header(AUTHORIZATION, token))
+                .andExpect(status().isOk());
+
+        tokenRevocationList.refresh();
+        utils.perform(get(NamedRoutes.labelsPath()).header(AUTHORIZATION, token))
+                .andExpect(status().isUnauthorized());
+        revokedTokenRepository.deleteById(jti);
+    }
+
     @Test
     public void updateUser() throws Exception {
 
@@ -210,4 +354,17 @@ public final class UserControllerTest {
                         delete(NamedRoutes.userPath(newUserId)))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    public void deleteMissingUser() throws Exception {
+
+        utils.regDefaultUser();
+        final Long userId = userRepository.findByEmail(TEST_EMAIL_1).get().getId();
+
+        utils.performAuthorizedRequest(
+                        delete(NamedRoutes.userPath(userId + 1)))
+                .andExpect(status().isNotFound());
+
+        assertTrue(userRepository.existsById(userId));
+    }
 }
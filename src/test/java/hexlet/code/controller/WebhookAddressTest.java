@@ -0,0 +1,63 @@
+package hexlet.code.controller;
+
+import hexlet.code.config.TestConfig;
+import hexlet.code.dto.required.WebhookSubscriptionRequiredDTO;
+import hexlet.code.event.WebhookEventType;
+import hexlet.code.repository.WebhookSubscriptionRepository;
+import hexlet.code.utils.NamedRoutes;
+import hexlet.code.utils.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static hexlet.code.config.TestConfig.TEST_PROFILE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ActiveProfiles(TEST_PROFILE)
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT, classes = TestConfig.class, properties = {
+    "webhooks.allow-private-addresses=false"
+})
+
+public final class WebhookAddressTest {
+
+    @Autowired
+    private TestUtils utils;
+    @Autowired
+    private WebhookSubscriptionRepository webhookSubscriptionRepository;
+
+    @BeforeEach
+    public void before() throws Exception {
+        utils.regDefaultUser();
+    }
+
+    @AfterEach
+    public void clear() {
+        utils.tearDown();
+    }
+
+    @Test
+    public void rejectNonPublicAddresses() throws Exception {
+
+        for (String url : List.of("http://127.0.0.1:8080/actuator", "http://169.254.169.254/latest/meta-data",
+                "http://10.0.0.1/hook", "http://192.168.1.1/hook", "http://[::1]/hook", "http://[fd00::1]/hook")) {
+            utils.regNewInstance(NamedRoutes.WEBHOOKS_PATH,
+                            new WebhookSubscriptionRequiredDTO(url, Set.of(WebhookEventType.TASK_CREATED)))
+                    .andExpect(status().isUnprocessableEntity());
+        }
+
+        assertThat(webhookSubscriptionRepository.count()).isZero();
+    }
+}
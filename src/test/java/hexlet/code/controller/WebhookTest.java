@@ -0,0 +1,226 @@
+package hexlet.code.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sun.net.httpserver.HttpServer;
+import hexlet.code.config.TestConfig;
+import hexlet.code.dto.TaskStatusDTO;
+import hexlet.code.dto.WebhookSubscriptionDTO;
+import hexlet.code.dto.required.TaskRequiredDTO;
+import hexlet.code.dto.required.UserRequiredDTO;
+import hexlet.code.dto.required.WebhookSubscriptionRequiredDTO;
+import hexlet.code.event.WebhookEventType;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskStatusRepository;
+import hexlet.code.repository.UserRepository;
+import hexlet.code.utils.NamedRoutes;
+import hexlet.code.utils.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static hexlet.code.config.TestConfig.TEST_PROFILE;
+import static hexlet.code.utils.TestUtils.TEST_EMAIL_1;
+import static hexlet.code.utils.TestUtils.TEST_EMAIL_2;
+import static hexlet.code.utils.TestUtils.asJson;
+import static hexlet.code.utils.TestUtils.fromJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ActiveProfiles(TEST_PROFILE)
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT, classes = TestConfig.class)
+
+public final class WebhookTest {
+
+    @Autowired
+    private TestUtils utils;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Queue<String> received = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger responseStatus = new AtomicInteger(200);
+    private HttpServer server;
+
+    @BeforeEach
+    public void before() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/hook", exchange -> {
+            received.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(responseStatus.get(), -1);
+            exchange.close();
+        });
+        server.start();
+
+        utils.regDefaultUser();
+        utils.regDefaultStatus();
+        utils.regNewInstance(NamedRoutes.statusesPath(), new TaskStatusDTO(null, "Done", null));
+    }
+
+    @AfterEach
+    public void clear() {
+        server.stop(0);
+        utils.tearDown();
+    }
+
+    @Test
+    public void deliverStatusChanges() throws Exception {
+
+        final WebhookSubscriptionDTO subscription = subscribe(WebhookEventType.TASK_STATUS_CHANGED);
+
+        final List<Long> statuses = taskStatusRepository.findAll().stream().map(TaskStatus::getId).sorted().toList();
+        final long userId = userRepository.findAll().get(0).getId();
+        createTask(new TaskRequiredDTO("task", "description", userId, userId, statuses.get(0), Set.of()));
+        final Task task = taskRepository.findFirstByOrderById().orElseThrow();
+
+        utils.performAuthorizedRequest(put(NamedRoutes.taskPath(task.getId()))
+                        .content(asJson(new TaskRequiredDTO("renamed", "description", userId, userId,
+                                statuses.get(0), Set.of())))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk());
+        utils.performAuthorizedRequest(put(NamedRoutes.taskPath(task.getId()))
+                        .content(asJson(new TaskRequiredDTO("renamed", "description", userId, userId,
+                                statuses.get(1), Set.of())))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        awaitReceived(1);
+        assertThat(received).hasSize(1);
+        assertThat(received.peek())
+                .startsWith("[")
+                .contains(WebhookEventType.TASK_STATUS_CHANGED.name())
+                .contains("\"taskId\":" + task.getId())
+                .doesNotContain(WebhookEventType.TASK_CREATED.name());
+
+        unsubscribe(subscription);
+    }
+
+    @Test
+    public void deadLetterRejectedBatches() throws Exception {
+
+        responseStatus.set(500);
+        final WebhookSubscriptionDTO subscription = subscribe(WebhookEventType.TASK_CREATED);
+
+        final long statusId = taskStatusRepository.findAll().get(0).getId();
+        final long userId = userRepository.findAll().get(0).getId();
+        createTask(new TaskRequiredDTO("task", "description", userId, userId, statusId, Set.of()));
+
+        // The payload is raw JSON in the response, so dead letters are read as plain maps.
+        List<Map<String, Object>> deadLetters = List.of();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (deadLetters.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            final String response = utils.performAuthorizedRequest(
+                            get(NamedRoutes.WEBHOOKS_PATH + "/" + subscription.id() + "/dead-letters"))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            deadLetters = fromJson(response, new TypeReference<>() { });
+        }
+
+        assertThat(deadLetters).hasSize(1);
+        assertThat(deadLetters.get(0)).containsEntry("attempts", 2);
+        assertThat((String) deadLetters.get(0).get("error")).contains("500");
+        assertThat(deadLetters.get(0).get("payload")).asList().hasSize(1);
+        assertThat(received).hasSize(2);
+
+        unsubscribe(subscription);
+    }
+
+    @Test
+    public void stopDeliveringToDeletedUsers() throws Exception {
+
+        subscribe(WebhookEventType.TASK_CREATED);
+        utils.regNewInstance(NamedRoutes.usersPath(), new UserRequiredDTO(TEST_EMAIL_2, "Mary", "Smith", "pwd"));
+        final long owner = userRepository.findByEmail(TEST_EMAIL_1).orElseThrow().getId();
+        final long other = userRepository.findByEmail(TEST_EMAIL_2).orElseThrow().getId();
+
+        // The subscription goes with its owner through the foreign key, without an event of its own.
+        final double endpoints = meterRegistry.get("webhook.endpoints").gauge().value();
+        utils.performAuthorizedRequest(delete(NamedRoutes.userPath(owner))).andExpect(status().isOk());
+        // Endpoints are reloaded off the request thread.
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("webhook.endpoints").gauge().value() >= endpoints && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        final long statusId = taskStatusRepository.findAll().get(0).getId();
+        utils.performAuthorizedRequest(post(NamedRoutes.TASKS_PATH)
+                        .content(asJson(new TaskRequiredDTO("task", "description", other, other, statusId, Set.of())))
+                        .contentType(APPLICATION_JSON), TEST_EMAIL_2)
+                .andExpect(status().isCreated());
+
+        Thread.sleep(200);
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    public void rejectSubscriptionWithoutUrl() throws Exception {
+
+        utils.regNewInstance(NamedRoutes.WEBHOOKS_PATH,
+                        new WebhookSubscriptionRequiredDTO(null, Set.of(WebhookEventType.TASK_CREATED)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    private WebhookSubscriptionDTO subscribe(WebhookEventType event) throws Exception {
+        final String url = "http://localhost:" + server.getAddress().getPort() + "/hook";
+        final String response = utils.regNewInstance(NamedRoutes.WEBHOOKS_PATH,
+                        new WebhookSubscriptionRequiredDTO(url, Set.of(event)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return fromJson(response, new TypeReference<>() { });
+    }
+
+    private void unsubscribe(WebhookSubscriptionDTO subscription) throws Exception {
+        utils.performAuthorizedRequest(delete(NamedRoutes.WEBHOOKS_PATH + "/" + subscription.id()))
+                .andExpect(status().isOk());
+    }
+
+    private void createTask(TaskRequiredDTO task) throws Exception {
+        utils.performAuthorizedRequest(post(NamedRoutes.TASKS_PATH)
+                        .content(asJson(task))
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isCreated());
+    }
+
+    private void awaitReceived(int count) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
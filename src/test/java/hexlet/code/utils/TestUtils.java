@@ -4,17 +4,27 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hexlet.code.component.JWTHelper;
+import hexlet.code.component.ReferenceDataCache;
+import hexlet.code.component.TaskListCache;
+import hexlet.code.component.UserDirectoryIndex;
+import hexlet.code.config.security.OwnershipGuard;
 import hexlet.code.dto.LabelDTO;
 import hexlet.code.dto.TaskStatusDTO;
 import hexlet.code.dto.required.UserRequiredDTO;
+import hexlet.code.repository.ChangeLogRepository;
 import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.OutboxMessageRepository;
+import hexlet.code.repository.OutboxOffsetRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.UserRepository;
+import hexlet.code.repository.WebhookDeadLetterRepository;
+import hexlet.code.repository.WebhookSubscriptionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
@@ -22,7 +32,9 @@ import java.util.Map;
 
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.SPRING_SECURITY_FORM_USERNAME_KEY;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 @Component
 public final class TestUtils {
@@ -51,13 +63,40 @@ public final class TestUtils {
     @Autowired
     private TaskRepository taskRepository;
     @Autowired
+    private ChangeLogRepository changeLogRepository;
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+    @Autowired
+    private OutboxOffsetRepository outboxOffsetRepository;
+    @Autowired
+    private WebhookSubscriptionRepository webhookSubscriptionRepository;
+    @Autowired
+    private WebhookDeadLetterRepository webhookDeadLetterRepository;
+    @Autowired
     private JWTHelper jwtHelper;
+    @Autowired
+    private TaskListCache taskListCache;
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+    @Autowired
+    private OwnershipGuard ownershipGuard;
+    @Autowired
+    private UserDirectoryIndex userDirectoryIndex;
 
     public void tearDown() {
         taskRepository.deleteAll();
+        webhookDeadLetterRepository.deleteAll();
+        webhookSubscriptionRepository.deleteAll();
         userRepository.deleteAll();
         taskStatusRepository.deleteAll();
         labelRepository.deleteAll();
+        changeLogRepository.deleteAll();
+        outboxMessageRepository.deleteAll();
+        outboxOffsetRepository.deleteAll();
+        taskListCache.invalidateAll();
+        referenceDataCache.clear();
+        ownershipGuard.invalidateAll();
+        userDirectoryIndex.clear();
     }
 
     public ResultActions regDefaultUser() throws Exception {
@@ -93,6 +132,14 @@ public final class TestUtils {
         return perform(request);
     }
 
+    public ResultActions performAsyncRequest(final MockHttpServletRequestBuilder request) throws Exception {
+        final MvcResult result = performAuthorizedRequest(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
     public ResultActions perform(final MockHttpServletRequestBuilder request) throws Exception {
         return mockMvc.perform(request);
     }